@@ -0,0 +1,92 @@
+package org.gzy.benchmark;
+
+import org.gzy.queue.workStealingDeque.LightWorkStealingDeque;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 工作窃取双端队列的性能测试，一个拥有者线程在队尾入队和出队，其它线程从队头窃取，与 {@link ConcurrentLinkedDeque} 对比
+ * @author GaoZiYang
+ * @since 2021年09月25日 10:16:40
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentDequeBenchmark {
+    /**
+     * 拥有者线程每次入队的任务数量
+     */
+    private static final int BATCH = 16;
+
+    private static final Integer ELEMENT = 1;
+
+    /**
+     * 同一组线程共用的双端队列
+     */
+    @State(Scope.Group)
+    public static class DequeState {
+        @Param({"LightWorkStealingDeque", "ConcurrentLinkedDeque"})
+        private String impl;
+
+        private LightWorkStealingDeque<Integer> light;
+
+        private Deque<Integer> jdk;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            if ("LightWorkStealingDeque".equals(impl)) {
+                light = new LightWorkStealingDeque<>();
+            } else {
+                jdk = new ConcurrentLinkedDeque<>();
+            }
+        }
+
+        void push(Integer e) {
+            if (light != null) {
+                light.offerTail(e);
+            } else {
+                jdk.offerLast(e);
+            }
+        }
+
+        Integer pop() {
+            return light != null ? light.pollTail() : jdk.pollLast();
+        }
+
+        Integer steal() {
+            return light != null ? light.pollHead() : jdk.pollFirst();
+        }
+    }
+
+    /**
+     * 拥有者线程入队一批任务后再从队尾逐个取出，没取完的已经被窃取线程拿走，队列长度不会无限增长
+     */
+    @Benchmark
+    @Group("steal")
+    @GroupThreads(1)
+    public void owner(DequeState state, Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            state.push(ELEMENT);
+        }
+        Integer e;
+        while ((e = state.pop()) != null) {
+            bh.consume(e);
+        }
+    }
+
+    /**
+     * 窃取线程从队头窃取，队列为空时直接返回null
+     */
+    @Benchmark
+    @Group("steal")
+    @GroupThreads(3)
+    public Integer thief(DequeState state) {
+        return state.steal();
+    }
+}
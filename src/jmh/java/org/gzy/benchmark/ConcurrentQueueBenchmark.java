@@ -0,0 +1,148 @@
+package org.gzy.benchmark;
+
+import org.gzy.queue.mpmcQueue.LightMpmcQueue;
+import org.gzy.queue.spscQueue.LightSpscQueue;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Control;
+
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 并发队列的性能测试，生产者线程和消费者线程同时访问同一个队列，与 {@link ArrayBlockingQueue} 对比
+ * <br/>队列满了或者为空时自旋重试，另一端的线程已经结束测量时通过 {@link Control#stopMeasurement} 退出，不会一直等下去
+ * @author GaoZiYang
+ * @since 2021年09月25日 09:42:17
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentQueueBenchmark {
+    /**
+     * 队列的容量
+     */
+    private static final int CAPACITY = 1024;
+
+    /**
+     * 入队的元素，使用同一个对象，避免测到装箱的开销
+     */
+    private static final Integer ELEMENT = 1;
+
+    /**
+     * 同一组线程共用的队列
+     */
+    public abstract static class QueueState {
+        private LightSpscQueue<Integer> spsc;
+
+        private LightMpmcQueue<Integer> mpmc;
+
+        private Queue<Integer> jdk;
+
+        protected void create(String impl) {
+            switch (impl) {
+                case "LightSpscQueue":
+                    spsc = new LightSpscQueue<>(CAPACITY);
+                    break;
+                case "LightMpmcQueue":
+                    mpmc = new LightMpmcQueue<>(CAPACITY);
+                    break;
+                case "ArrayBlockingQueue":
+                    jdk = new ArrayBlockingQueue<>(CAPACITY);
+                    break;
+                default:
+                    throw new IllegalArgumentException("不支持的队列：" + impl);
+            }
+        }
+
+        /**
+         * 尝试入队
+         * @return 队列已满时返回false
+         */
+        boolean offer(Integer e) {
+            if (spsc != null) return spsc.tryOffer(e);
+            if (mpmc != null) return mpmc.tryOffer(e);
+            return jdk.offer(e);
+        }
+
+        /**
+         * 尝试出队
+         * @return 队列为空时返回null
+         */
+        Integer poll() {
+            if (spsc != null) return spsc.poll();
+            if (mpmc != null) return mpmc.poll();
+            return jdk.poll();
+        }
+    }
+
+    /**
+     * 一个生产者和一个消费者
+     */
+    @State(Scope.Group)
+    public static class SpscState extends QueueState {
+        @Param({"LightSpscQueue", "LightMpmcQueue", "ArrayBlockingQueue"})
+        private String impl;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            create(impl);
+        }
+    }
+
+    /**
+     * 多个生产者和多个消费者，单生产者单消费者队列不能参与
+     */
+    @State(Scope.Group)
+    public static class MpmcState extends QueueState {
+        @Param({"LightMpmcQueue", "ArrayBlockingQueue"})
+        private String impl;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            create(impl);
+        }
+    }
+
+    @Benchmark
+    @Group("spsc")
+    @GroupThreads(1)
+    public void spscOffer(SpscState state, Control control) {
+        while (!state.offer(ELEMENT) && !control.stopMeasurement) {
+            // 队列已满，等待消费者
+        }
+    }
+
+    @Benchmark
+    @Group("spsc")
+    @GroupThreads(1)
+    public Integer spscPoll(SpscState state, Control control) {
+        Integer e;
+        while ((e = state.poll()) == null && !control.stopMeasurement) {
+            // 队列为空，等待生产者
+        }
+        return e;
+    }
+
+    @Benchmark
+    @Group("mpmc")
+    @GroupThreads(2)
+    public void mpmcOffer(MpmcState state, Control control) {
+        while (!state.offer(ELEMENT) && !control.stopMeasurement) {
+            // 队列已满，等待消费者
+        }
+    }
+
+    @Benchmark
+    @Group("mpmc")
+    @GroupThreads(2)
+    public Integer mpmcPoll(MpmcState state, Control control) {
+        Integer e;
+        while ((e = state.poll()) == null && !control.stopMeasurement) {
+            // 队列为空，等待生产者
+        }
+        return e;
+    }
+}
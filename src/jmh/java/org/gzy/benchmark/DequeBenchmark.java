@@ -0,0 +1,130 @@
+package org.gzy.benchmark;
+
+import org.gzy.queue.ILightDeque;
+import org.gzy.queue.circleDeque.LightCircleDeque;
+import org.gzy.queue.deque.LightDeque;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 双端队列的性能测试，每次操作都会处理全部的元素
+ * @author GaoZiYang
+ * @since 2021年09月18日 14:12:08
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DequeBenchmark {
+    @Param({"LightDeque", "LightCircleDeque", "ArrayDeque", "LinkedList"})
+    private String impl;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private Integer[] elements;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        elements = KeyDistribution.SEQUENTIAL.keys(size);
+    }
+
+    /**
+     * 队列用法：从头部入队，从尾部出队
+     */
+    @Benchmark
+    public void offerHeadPollTail(Blackhole bh) {
+        ILightDeque<Integer> light = newLightDeque();
+        if (light != null) {
+            for (Integer e : elements) {
+                light.offerHead(e);
+            }
+            while (!light.isEmpty()) {
+                bh.consume(light.pollTail());
+            }
+            return;
+        }
+        Deque<Integer> jdk = newJdkDeque();
+        for (Integer e : elements) {
+            jdk.offerFirst(e);
+        }
+        while (!jdk.isEmpty()) {
+            bh.consume(jdk.pollLast());
+        }
+    }
+
+    /**
+     * 栈用法：从尾部入队，从尾部出队
+     */
+    @Benchmark
+    public void offerTailPollTail(Blackhole bh) {
+        ILightDeque<Integer> light = newLightDeque();
+        if (light != null) {
+            for (Integer e : elements) {
+                light.offerTail(e);
+            }
+            while (!light.isEmpty()) {
+                bh.consume(light.pollTail());
+            }
+            return;
+        }
+        Deque<Integer> jdk = newJdkDeque();
+        for (Integer e : elements) {
+            jdk.offerLast(e);
+        }
+        while (!jdk.isEmpty()) {
+            bh.consume(jdk.pollLast());
+        }
+    }
+
+    /**
+     * 两端交替入队和出队
+     */
+    @Benchmark
+    public void mixed(Blackhole bh) {
+        ILightDeque<Integer> light = newLightDeque();
+        if (light != null) {
+            for (Integer e : elements) {
+                light.offerHead(e);
+                light.offerTail(e);
+                bh.consume(light.pollHead());
+            }
+            return;
+        }
+        Deque<Integer> jdk = newJdkDeque();
+        for (Integer e : elements) {
+            jdk.offerFirst(e);
+            jdk.offerLast(e);
+            bh.consume(jdk.pollFirst());
+        }
+    }
+
+    private ILightDeque<Integer> newLightDeque() {
+        switch (impl) {
+            case "LightDeque":
+                return new LightDeque<>();
+            case "LightCircleDeque":
+                return new LightCircleDeque<>();
+            default:
+                return null;
+        }
+    }
+
+    private Deque<Integer> newJdkDeque() {
+        switch (impl) {
+            case "ArrayDeque":
+                return new ArrayDeque<>();
+            case "LinkedList":
+                return new LinkedList<>();
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.gzy.benchmark;
+
+import org.gzy.heap.ILightHeap;
+import org.gzy.heap.LightBinaryHeap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 堆的性能测试，与 {@link java.util.PriorityQueue} 对比，两者都使用最大堆
+ * @author GaoZiYang
+ * @since 2021年09月18日 14:45:52
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HeapBenchmark {
+    @Param({"LightBinaryHeap", "PriorityQueue"})
+    private String impl;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({"SEQUENTIAL", "RANDOM"})
+    private KeyDistribution distribution;
+
+    private Integer[] elements;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        elements = distribution.keys(size);
+    }
+
+    /**
+     * 逐个添加后逐个删除堆顶
+     */
+    @Benchmark
+    public void addThenRemove(Blackhole bh) {
+        if (isLight()) {
+            ILightHeap<Integer> heap = new LightBinaryHeap<>();
+            for (Integer e : elements) {
+                heap.add(e);
+            }
+            while (!heap.isEmpty()) {
+                bh.consume(heap.remove());
+            }
+            return;
+        }
+        PriorityQueue<Integer> queue = new PriorityQueue<>(Collections.reverseOrder());
+        for (Integer e : elements) {
+            queue.offer(e);
+        }
+        while (!queue.isEmpty()) {
+            bh.consume(queue.poll());
+        }
+    }
+
+    /**
+     * 批量建堆
+     */
+    @Benchmark
+    public Object heapify() {
+        if (isLight()) {
+            return new LightBinaryHeap<>(elements);
+        }
+        // PriorityQueue只有在传入集合时才会批量建堆，而且只能使用自然顺序
+        return new PriorityQueue<>(Arrays.asList(elements));
+    }
+
+    /**
+     * 替换堆顶
+     */
+    @Benchmark
+    public void replace(Blackhole bh) {
+        if (isLight()) {
+            ILightHeap<Integer> heap = new LightBinaryHeap<>(elements);
+            for (Integer e : elements) {
+                bh.consume(heap.replace(e));
+            }
+            return;
+        }
+        PriorityQueue<Integer> queue = new PriorityQueue<>(Arrays.asList(elements));
+        for (Integer e : elements) {
+            bh.consume(queue.poll());
+            queue.offer(e);
+        }
+    }
+
+    private boolean isLight() {
+        return "LightBinaryHeap".equals(impl);
+    }
+}
@@ -0,0 +1,54 @@
+package org.gzy.benchmark;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 性能测试使用的键分布
+ * @author GaoZiYang
+ * @since 2021年09月18日 10:05:11
+ */
+public enum KeyDistribution {
+    /**
+     * 从0开始的连续整数，按升序排列
+     */
+    SEQUENTIAL {
+        @Override
+        public Integer[] keys(int size) {
+            Integer[] keys = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = i;
+            }
+            return keys;
+        }
+    },
+    /**
+     * 在整个int范围内随机分布且互不相同的整数，按随机顺序排列
+     */
+    RANDOM {
+        @Override
+        public Integer[] keys(int size) {
+            Random random = new Random(SEED);
+            Set<Integer> seen = new HashSet<>();
+            Integer[] keys = new Integer[size];
+            for (int i = 0; i < size; ) {
+                int key = random.nextInt();
+                if (seen.add(key)) keys[i++] = key;
+            }
+            return keys;
+        }
+    };
+
+    /**
+     * 固定的随机种子，保证每次测试的数据相同
+     */
+    static final long SEED = 0x5DEECE66DL;
+
+    /**
+     * 生成指定数量的互不相同的键
+     * @param size 键的数量
+     * @return 键数组
+     */
+    public abstract Integer[] keys(int size);
+}
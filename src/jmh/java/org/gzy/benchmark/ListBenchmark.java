@@ -0,0 +1,196 @@
+package org.gzy.benchmark;
+
+import org.gzy.list.ILightList;
+import org.gzy.list.arrayList.LightArrayList;
+import org.gzy.list.gapBufferList.LightGapBufferList;
+import org.gzy.list.linkedList.LightLinkedList;
+import org.gzy.list.unrolledLinkedList.LightUnrolledLinkedList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 线性表的性能测试，每次操作都会处理全部的元素
+ * @author GaoZiYang
+ * @since 2021年09月18日 11:02:36
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListBenchmark {
+    @Param({"LightArrayList", "LightLinkedList", "LightUnrolledLinkedList", "LightGapBufferList", "ArrayList", "LinkedList"})
+    private String impl;
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    private Integer[] elements;
+    /**
+     * 随机访问的索引
+     */
+    private int[] indexes;
+    /**
+     * 预先填满的线性表，用于查找和遍历
+     */
+    private ILightList<Integer> lightList;
+    private List<Integer> jdkList;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        elements = KeyDistribution.SEQUENTIAL.keys(size);
+        indexes = new int[size];
+        Random random = new Random(KeyDistribution.SEED);
+        for (int i = 0; i < size; i++) {
+            indexes[i] = random.nextInt(size);
+        }
+        lightList = newLightList();
+        jdkList = newJdkList();
+        for (Integer e : elements) {
+            if (lightList != null) {
+                lightList.add(e);
+            } else {
+                jdkList.add(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public Object addTail() {
+        ILightList<Integer> light = newLightList();
+        if (light != null) {
+            for (Integer e : elements) {
+                light.add(e);
+            }
+            return light;
+        }
+        List<Integer> jdk = newJdkList();
+        for (Integer e : elements) {
+            jdk.add(e);
+        }
+        return jdk;
+    }
+
+    @Benchmark
+    public Object addMiddle() {
+        ILightList<Integer> light = newLightList();
+        if (light != null) {
+            for (Integer e : elements) {
+                light.add(light.size() >> 1, e);
+            }
+            return light;
+        }
+        List<Integer> jdk = newJdkList();
+        for (Integer e : elements) {
+            jdk.add(jdk.size() >> 1, e);
+        }
+        return jdk;
+    }
+
+    /**
+     * 先在尾部添加全部元素再逐个删除头部元素，结果包含了添加的耗时，需要减去 {@link #addTail()} 的结果
+     */
+    @Benchmark
+    public Object addThenRemoveHead() {
+        ILightList<Integer> light = newLightList();
+        if (light != null) {
+            for (Integer e : elements) {
+                light.add(e);
+            }
+            while (!light.isEmpty()) {
+                light.remove(0);
+            }
+            return light;
+        }
+        List<Integer> jdk = newJdkList();
+        for (Integer e : elements) {
+            jdk.add(e);
+        }
+        while (!jdk.isEmpty()) {
+            jdk.remove(0);
+        }
+        return jdk;
+    }
+
+    /**
+     * 先在尾部添加全部元素再删除一半的元素，结果包含了添加的耗时，需要减去 {@link #addTail()} 的结果
+     */
+    @Benchmark
+    public Object addThenRemoveIf() {
+        ILightList<Integer> light = newLightList();
+        if (light != null) {
+            for (Integer e : elements) {
+                light.add(e);
+            }
+            light.removeIf(e -> (e & 1) == 0);
+            return light;
+        }
+        List<Integer> jdk = newJdkList();
+        for (Integer e : elements) {
+            jdk.add(e);
+        }
+        jdk.removeIf(e -> (e & 1) == 0);
+        return jdk;
+    }
+
+    @Benchmark
+    public void getRandom(Blackhole bh) {
+        if (lightList != null) {
+            for (int index : indexes) {
+                bh.consume(lightList.get(index));
+            }
+        } else {
+            for (int index : indexes) {
+                bh.consume(jdkList.get(index));
+            }
+        }
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh) {
+        if (lightList != null) {
+            Iterator<Integer> iterator = lightList.iterator();
+            while (iterator.hasNext()) {
+                bh.consume(iterator.next());
+            }
+        } else {
+            for (Integer e : jdkList) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    private ILightList<Integer> newLightList() {
+        switch (impl) {
+            case "LightArrayList":
+                return new LightArrayList<>();
+            case "LightLinkedList":
+                return new LightLinkedList<>();
+            case "LightUnrolledLinkedList":
+                return new LightUnrolledLinkedList<>();
+            case "LightGapBufferList":
+                return new LightGapBufferList<>();
+            default:
+                return null;
+        }
+    }
+
+    private List<Integer> newJdkList() {
+        switch (impl) {
+            case "ArrayList":
+                return new ArrayList<>();
+            case "LinkedList":
+                return new LinkedList<>();
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package org.gzy.benchmark;
+
+import org.gzy.map.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 映射的性能测试，每次操作都会处理全部的键
+ * @author GaoZiYang
+ * @since 2021年09月18日 10:21:43
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapBenchmark {
+    @Param({"LightHashMap", "LightOpenHashMap", "LightTreeMap", "LightConcurrentHashMap",
+            "HashMap", "TreeMap", "ConcurrentHashMap"})
+    private String impl;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({"SEQUENTIAL", "RANDOM"})
+    private KeyDistribution distribution;
+
+    private Integer[] keys;
+    /**
+     * 预先填满的映射，用于查找和遍历
+     */
+    private ILightMap<Integer, Integer> lightMap;
+    private Map<Integer, Integer> jdkMap;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        keys = distribution.keys(size);
+        lightMap = newLightMap();
+        jdkMap = newJdkMap();
+        for (Integer key : keys) {
+            if (lightMap != null) {
+                lightMap.put(key, key);
+            } else {
+                jdkMap.put(key, key);
+            }
+        }
+    }
+
+    @Benchmark
+    public Object put() {
+        ILightMap<Integer, Integer> light = newLightMap();
+        if (light != null) {
+            for (Integer key : keys) {
+                light.put(key, key);
+            }
+            return light;
+        }
+        Map<Integer, Integer> jdk = newJdkMap();
+        for (Integer key : keys) {
+            jdk.put(key, key);
+        }
+        return jdk;
+    }
+
+    @Benchmark
+    public void get(Blackhole bh) {
+        if (lightMap != null) {
+            for (Integer key : keys) {
+                bh.consume(lightMap.get(key));
+            }
+        } else {
+            for (Integer key : keys) {
+                bh.consume(jdkMap.get(key));
+            }
+        }
+    }
+
+    /**
+     * 先添加全部的键再逐个删除，结果包含了添加的耗时，需要减去 {@link #put()} 的结果
+     */
+    @Benchmark
+    public Object putThenRemove() {
+        ILightMap<Integer, Integer> light = newLightMap();
+        if (light != null) {
+            for (Integer key : keys) {
+                light.put(key, key);
+            }
+            for (Integer key : keys) {
+                light.remove(key);
+            }
+            return light;
+        }
+        Map<Integer, Integer> jdk = newJdkMap();
+        for (Integer key : keys) {
+            jdk.put(key, key);
+        }
+        for (Integer key : keys) {
+            jdk.remove(key);
+        }
+        return jdk;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Benchmark
+    public void iterate(Blackhole bh) {
+        if (lightMap instanceof LightHashMap) {
+            ((LightHashMap<Integer, Integer>) lightMap).traversal(node -> bh.consume(node.getValue()));
+        } else if (lightMap instanceof LightTreeMap) {
+            ((LightTreeMap<Integer, Integer>) lightMap).traversal(node -> bh.consume(node.getValue()));
+        } else if (lightMap instanceof LightOpenHashMap) {
+            ((LightOpenHashMap<Integer, Integer>) lightMap).traversal((k, v) -> bh.consume(v));
+        } else if (lightMap instanceof LightConcurrentHashMap) {
+            ((LightConcurrentHashMap<Integer, Integer>) lightMap).traversal((k, v) -> bh.consume(v));
+        } else {
+            for (Map.Entry<Integer, Integer> entry : jdkMap.entrySet()) {
+                bh.consume(entry.getValue());
+            }
+        }
+    }
+
+    private ILightMap<Integer, Integer> newLightMap() {
+        switch (impl) {
+            case "LightHashMap":
+                return new LightHashMap<>();
+            case "LightOpenHashMap":
+                return new LightOpenHashMap<>();
+            case "LightTreeMap":
+                return new LightTreeMap<>();
+            case "LightConcurrentHashMap":
+                return new LightConcurrentHashMap<>();
+            default:
+                return null;
+        }
+    }
+
+    private Map<Integer, Integer> newJdkMap() {
+        switch (impl) {
+            case "HashMap":
+                return new HashMap<>();
+            case "TreeMap":
+                return new TreeMap<>();
+            case "ConcurrentHashMap":
+                return new ConcurrentHashMap<>();
+            default:
+                return null;
+        }
+    }
+}
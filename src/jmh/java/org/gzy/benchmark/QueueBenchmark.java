@@ -0,0 +1,132 @@
+package org.gzy.benchmark;
+
+import org.gzy.queue.ILightQueue;
+import org.gzy.queue.circleQueue.LightCircleQueue;
+import org.gzy.queue.mpmcQueue.LightMpmcQueue;
+import org.gzy.queue.offHeapQueue.ILightRecordCodec;
+import org.gzy.queue.offHeapQueue.LightOffHeapQueue;
+import org.gzy.queue.priorityQueue.LightPriorityQueue;
+import org.gzy.queue.queue.LightQueue;
+import org.gzy.queue.spscQueue.LightSpscQueue;
+import org.gzy.queue.stackQueue.LightStackQueue;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayDeque;
+import java.util.LinkedList;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 队列的性能测试，每次操作都会处理全部的元素
+ * <br/>并发队列在这里只测单线程下的开销，有界队列的容量足够放下全部元素；多线程同时访问的情况见 {@link ConcurrentQueueBenchmark}
+ * @author GaoZiYang
+ * @since 2021年09月18日 11:37:20
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueueBenchmark {
+    @Param({"LightQueue", "LightCircleQueue", "LightStackQueue", "LightPriorityQueue",
+            "LightSpscQueue", "LightMpmcQueue", "LightOffHeapQueue",
+            "ArrayDeque", "LinkedList", "PriorityQueue"})
+    private String impl;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({"SEQUENTIAL", "RANDOM"})
+    private KeyDistribution distribution;
+
+    private Integer[] elements;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        elements = distribution.keys(size);
+    }
+
+    /**
+     * 先全部入队再全部出队
+     */
+    @Benchmark
+    public void offerThenPoll(Blackhole bh) {
+        ILightQueue<Integer> light = newLightQueue();
+        if (light != null) {
+            for (Integer e : elements) {
+                light.offer(e);
+            }
+            while (!light.isEmpty()) {
+                bh.consume(light.poll());
+            }
+            return;
+        }
+        Queue<Integer> jdk = newJdkQueue();
+        for (Integer e : elements) {
+            jdk.offer(e);
+        }
+        while (!jdk.isEmpty()) {
+            bh.consume(jdk.poll());
+        }
+    }
+
+    /**
+     * 入队和出队交替进行，队列长度保持在较小的范围内
+     */
+    @Benchmark
+    public void interleaved(Blackhole bh) {
+        ILightQueue<Integer> light = newLightQueue();
+        if (light != null) {
+            for (Integer e : elements) {
+                light.offer(e);
+                light.offer(e);
+                bh.consume(light.poll());
+            }
+            return;
+        }
+        Queue<Integer> jdk = newJdkQueue();
+        for (Integer e : elements) {
+            jdk.offer(e);
+            jdk.offer(e);
+            bh.consume(jdk.poll());
+        }
+    }
+
+    private ILightQueue<Integer> newLightQueue() {
+        switch (impl) {
+            case "LightQueue":
+                return new LightQueue<>();
+            case "LightCircleQueue":
+                return new LightCircleQueue<>();
+            case "LightStackQueue":
+                return new LightStackQueue<>();
+            case "LightPriorityQueue":
+                return new LightPriorityQueue<>();
+            // 交替入队出队时，最后一次出队之前队列中有size + 1个元素
+            case "LightSpscQueue":
+                return new LightSpscQueue<>(size + 1);
+            case "LightMpmcQueue":
+                return new LightMpmcQueue<>(size + 1);
+            case "LightOffHeapQueue":
+                return new LightOffHeapQueue<>(ILightRecordCodec.INT);
+            default:
+                return null;
+        }
+    }
+
+    private Queue<Integer> newJdkQueue() {
+        switch (impl) {
+            case "ArrayDeque":
+                return new ArrayDeque<>();
+            case "LinkedList":
+                return new LinkedList<>();
+            case "PriorityQueue":
+                return new PriorityQueue<>();
+            default:
+                return null;
+        }
+    }
+}
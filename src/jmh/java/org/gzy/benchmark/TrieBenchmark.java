@@ -0,0 +1,103 @@
+package org.gzy.benchmark;
+
+import org.gzy.tree.trie.ITrie;
+import org.gzy.tree.trie.Trie;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trie的性能测试，与同样支持前缀查询的 {@link java.util.TreeMap} 对比
+ * @author GaoZiYang
+ * @since 2021年09月18日 15:20:33
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TrieBenchmark {
+    @Param({"Trie", "TreeMap"})
+    private String impl;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private String[] words;
+    private String[] prefixes;
+    private ITrie<Integer> trie;
+    private TreeMap<String, Integer> treeMap;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(KeyDistribution.SEED);
+        words = new String[size];
+        prefixes = new String[size];
+        for (int i = 0; i < size; i++) {
+            int length = 3 + random.nextInt(10);
+            char[] chars = new char[length];
+            for (int j = 0; j < length; j++) {
+                chars[j] = (char) ('a' + random.nextInt(26));
+            }
+            words[i] = new String(chars);
+            prefixes[i] = words[i].substring(0, 2);
+        }
+        trie = new Trie<>();
+        treeMap = new TreeMap<>();
+        for (int i = 0; i < size; i++) {
+            trie.add(words[i], i);
+            treeMap.put(words[i], i);
+        }
+    }
+
+    @Benchmark
+    public Object add() {
+        if (isTrie()) {
+            ITrie<Integer> t = new Trie<>();
+            for (int i = 0; i < words.length; i++) {
+                t.add(words[i], i);
+            }
+            return t;
+        }
+        TreeMap<String, Integer> map = new TreeMap<>();
+        for (int i = 0; i < words.length; i++) {
+            map.put(words[i], i);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public void get(Blackhole bh) {
+        if (isTrie()) {
+            for (String word : words) {
+                bh.consume(trie.get(word));
+            }
+        } else {
+            for (String word : words) {
+                bh.consume(treeMap.get(word));
+            }
+        }
+    }
+
+    @Benchmark
+    public void startWith(Blackhole bh) {
+        if (isTrie()) {
+            for (String prefix : prefixes) {
+                bh.consume(trie.startWith(prefix));
+            }
+        } else {
+            for (String prefix : prefixes) {
+                String key = treeMap.ceilingKey(prefix);
+                bh.consume(key != null && key.startsWith(prefix));
+            }
+        }
+    }
+
+    private boolean isTrie() {
+        return "Trie".equals(impl);
+    }
+}
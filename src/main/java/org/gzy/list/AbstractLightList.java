@@ -1,5 +1,8 @@
 package org.gzy.list;
 
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
 /**
  * @author GaoZiYang
  * @since 2021年07月14日 17:13:29
@@ -40,6 +43,84 @@ public abstract class AbstractLightList<E> implements ILightList<E> {
         return true;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public void addAll(int index, ILightList<? extends E> list) {
+        if (list == null) throw new IllegalArgumentException("集合不能为空！");
+        // 先复制出数组，这样添加集合本身时也不会受到影响
+        addAll(index, (E[]) toArray(list));
+    }
+
+    @Override
+    public void addAll(int index, E[] elements) {
+        rangeCheckForAdd(index);
+        if (elements == null) throw new IllegalArgumentException("数组不能为空！");
+        for (E e : elements) {
+            add(index++, e);
+        }
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        rangeCheckForRemove(fromIndex, toIndex);
+        for (int i = fromIndex; i < toIndex; i++) {
+            remove(fromIndex);
+        }
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        if (filter == null) throw new IllegalArgumentException("移除条件不能为空！");
+        boolean removed = false;
+        for (int i = size - 1; i >= 0; i--) {
+            if (filter.test(get(i))) {
+                remove(i);
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<E> operator) {
+        if (operator == null) throw new IllegalArgumentException("替换操作不能为空！");
+        for (int i = 0; i < size; i++) {
+            set(i, operator.apply(get(i)));
+        }
+    }
+
+    /**
+     * 按照索引顺序将所有元素复制到数组中
+     * @return 元素数组
+     */
+    protected Object[] toArray() {
+        Object[] array = new Object[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = get(i);
+        }
+        return array;
+    }
+
+    /**
+     * 将任意集合中的元素复制到数组中，本项目中的集合使用各自的高效实现
+     * @param list 集合
+     * @return 元素数组
+     */
+    protected static Object[] toArray(ILightList<?> list) {
+        if (list instanceof AbstractLightList) return ((AbstractLightList<?>) list).toArray();
+        Object[] array = new Object[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+    protected void rangeCheckForRemove(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("索引越界，起始索引：" + fromIndex + "，结束索引：" + toIndex + "，数量：" + size);
+        }
+    }
+
     protected void rangeCheck(int index) {
         if (index < 0 || index >= size) throw new IndexOutOfBoundsException("索引越界，索引：" + index + "，数量：" + size);
     }
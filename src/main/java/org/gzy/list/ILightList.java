@@ -1,6 +1,8 @@
 package org.gzy.list;
 
 import java.util.Iterator;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 /**
  * List集合接口
@@ -93,4 +95,38 @@ public interface ILightList<E> {
      * @return 移除的元素
      */
     E remove(int index);
+
+    /**
+     * 在集合中指定索引上依次添加另一个集合中的所有元素
+     * @param index 要添加元素的索引
+     * @param list 要添加的元素集合，可以是集合本身
+     */
+    void addAll(int index, ILightList<? extends E> list);
+
+    /**
+     * 在集合中指定索引上依次添加数组中的所有元素
+     * @param index 要添加元素的索引
+     * @param elements 要添加的元素数组
+     */
+    void addAll(int index, E[] elements);
+
+    /**
+     * 移除集合中[fromIndex, toIndex)区间内的元素
+     * @param fromIndex 起始索引（包含）
+     * @param toIndex 结束索引（不包含）
+     */
+    void removeRange(int fromIndex, int toIndex);
+
+    /**
+     * 移除集合中所有满足条件的元素
+     * @param filter 移除条件
+     * @return 如果移除了元素就返回true，否则返回false
+     */
+    boolean removeIf(Predicate<? super E> filter);
+
+    /**
+     * 将集合中的每个元素替换为操作的结果
+     * @param operator 替换操作
+     */
+    void replaceAll(UnaryOperator<E> operator);
 }
@@ -3,6 +3,7 @@ package org.gzy.list.arrayList;
 import org.gzy.list.ILightList;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -38,5 +39,93 @@ public class ArrayListTest {
             System.out.println(next);
         }
         System.out.println(lightArrayList);
+
+        bulk(new LightArrayList<>());
+        capacity();
+    }
+
+    /**
+     * 数组长度为0或1时，按1.5倍扩容不会增加长度，要直接扩容到需要的容量
+     */
+    private static void capacity() {
+        LightArrayList<Integer> list = new LightArrayList<>();
+        List<Integer> reference = new ArrayList<>();
+        // 空集合缩容后数组长度为0
+        list.trimToSize();
+        list.add(0);
+        reference.add(0);
+        // 只有一个元素时缩容，数组长度为1
+        list.trimToSize();
+        for (int i = 1; i < 100; i++) {
+            list.add(i);
+            reference.add(i);
+        }
+        check(list, reference, "缩容后添加");
+
+        list.ensureCapacity(10000);
+        for (int i = 100; i < 10000; i++) {
+            list.add(i >> 1, i);
+            reference.add(i >> 1, i);
+        }
+        list.trimToSize();
+        for (int i = 0; i < 5000; i++) {
+            list.remove(i);
+            reference.remove(i);
+        }
+        check(list, reference, "预留容量后插入和删除");
+        System.out.println(list.size() + " " + list.get(0) + " " + list.get(list.size() - 1));
+    }
+
+    /**
+     * 批量操作与ArrayList的结果对比
+     */
+    private static void bulk(ILightList<Integer> list) {
+        List<Integer> reference = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            list.add(i);
+            reference.add(i);
+        }
+        list.addAll(5, new Integer[]{100, 101, 102});
+        reference.addAll(5, Arrays.asList(100, 101, 102));
+        // 把集合添加到自身
+        list.addAll(list.size(), list);
+        reference.addAll(reference.size(), new ArrayList<>(reference));
+        check(list, reference, "addAll");
+
+        list.removeRange(3, 10);
+        reference.subList(3, 10).clear();
+        check(list, reference, "removeRange");
+
+        list.removeIf(e -> e % 3 == 0);
+        reference.removeIf(e -> e % 3 == 0);
+        check(list, reference, "removeIf");
+
+        list.replaceAll(e -> e * 2);
+        reference.replaceAll(e -> e * 2);
+        check(list, reference, "replaceAll");
+
+        // 条件在判断第6个元素时抛出异常，前5个元素按判断结果移除，没有判断的元素全部保留
+        int[] tested = {0};
+        try {
+            list.removeIf(e -> {
+                if (++tested[0] > 5) throw new ArithmeticException("条件执行失败");
+                return e % 4 == 0;
+            });
+        } catch (ArithmeticException ignored) {
+        }
+        Iterator<Integer> iterator = reference.iterator();
+        for (int i = 0; i < 5; i++) {
+            if (iterator.next() % 4 == 0) iterator.remove();
+        }
+        check(list, reference, "removeIf抛出异常");
+        System.out.println(list);
+    }
+
+    private static void check(ILightList<Integer> list, List<Integer> reference, String operation) {
+        boolean same = list.size() == reference.size();
+        for (int i = 0; same && i < reference.size(); i++) {
+            same = reference.get(i).equals(list.get(i));
+        }
+        if (!same) throw new IllegalStateException("测试失败：" + operation + "，期望" + reference + "，实际" + list);
     }
 }
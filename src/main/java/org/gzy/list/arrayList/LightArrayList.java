@@ -5,6 +5,8 @@ import org.gzy.list.ILightList;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 /**
  * 动态数组
@@ -23,6 +25,11 @@ public class LightArrayList<E> extends AbstractLightList<E> implements ILightLis
      */
     private static final int DEFAULT_CAPACITY = 10;
 
+    /**
+     * 数组的最大长度，部分虚拟机会在数组中保留一些头信息
+     */
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
     public LightArrayList() {
         this(DEFAULT_CAPACITY);
     }
@@ -67,12 +74,32 @@ public class LightArrayList<E> extends AbstractLightList<E> implements ILightLis
     }
 
     /**
-     * 扩容
+     * 确保数组至少能容纳指定数量的元素，可以在添加大量元素之前调用，避免多次扩容
+     * @param minCapacity 要求的最小容量
+     */
+    public void ensureCapacity(int minCapacity) {
+        expand(minCapacity);
+    }
+
+    /**
+     * 将数组长度缩减为元素数量，释放多余的空间
+     */
+    public void trimToSize() {
+        if (elements.length > size) elements = Arrays.copyOf(elements, size);
+    }
+
+    /**
+     * 扩容，一般扩容为原来的1.5倍，不够时直接扩容到要求的最小容量
      * @param minCapacity 扩容要求的最小容量
      */
     private void expand(int minCapacity) {
         if (elements.length >= minCapacity) return;
+        if (minCapacity < 0 || minCapacity > MAX_ARRAY_LENGTH) throw new IllegalStateException("集合已达到最大容量！");
         int newLength = elements.length + (elements.length >> 1);
+        // 数组很长时，1.5倍可能溢出
+        if (newLength < 0 || newLength > MAX_ARRAY_LENGTH) newLength = MAX_ARRAY_LENGTH;
+        // 数组长度为0或1时，1.5倍不会增加长度
+        if (newLength < minCapacity) newLength = minCapacity;
         elements = Arrays.copyOf(elements, newLength);
     }
 
@@ -94,9 +121,7 @@ public class LightArrayList<E> extends AbstractLightList<E> implements ILightLis
     public void add(int index, E element) {
         rangeCheckForAdd(index);
         expand(size + 1);
-        for (int i = size; i > index; i--) {
-            elements[i] = elements[i - 1];
-        }
+        System.arraycopy(elements, index, elements, index + 1, size - index);
         elements[index] = element;
         size++;
     }
@@ -104,14 +129,74 @@ public class LightArrayList<E> extends AbstractLightList<E> implements ILightLis
     @Override
     public E remove(int index) {
         rangeCheck(index);
-        E oldElement = (E) elements[index];
-        for (; index < size - 1; index++) {
-            elements[index] = elements[index + 1];
-        }
+        E oldElement = elements[index];
+        int moved = size - index - 1;
+        if (moved > 0) System.arraycopy(elements, index + 1, elements, index, moved);
         elements[--size] = null;
         return oldElement;
     }
 
+    @Override
+    public void addAll(int index, E[] elements) {
+        rangeCheckForAdd(index);
+        if (elements == null) throw new IllegalArgumentException("数组不能为空！");
+        int count = elements.length;
+        if (count == 0) return;
+
+        expand(size + count);
+        System.arraycopy(this.elements, index, this.elements, index + count, size - index);
+        System.arraycopy(elements, 0, this.elements, index, count);
+        size += count;
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        rangeCheckForRemove(fromIndex, toIndex);
+        System.arraycopy(elements, toIndex, elements, fromIndex, size - toIndex);
+        int newSize = size - (toIndex - fromIndex);
+        Arrays.fill(elements, newSize, size, null);
+        size = newSize;
+    }
+
+    /**
+     * 一次遍历完成移除：保留的元素依次前移到写指针的位置，最后清空尾部
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        if (filter == null) throw new IllegalArgumentException("移除条件不能为空！");
+        int oldSize = size;
+        int write = 0;
+        int read = 0;
+        try {
+            for (; read < oldSize; read++) {
+                E e = elements[read];
+                if (!filter.test(e)) elements[write++] = e;
+            }
+        } finally {
+            // 条件抛出异常时，保留还没有判断的元素
+            if (read < oldSize) {
+                System.arraycopy(elements, read, elements, write, oldSize - read);
+                write += oldSize - read;
+            }
+            Arrays.fill(elements, write, oldSize, null);
+            size = write;
+        }
+        return write != oldSize;
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<E> operator) {
+        if (operator == null) throw new IllegalArgumentException("替换操作不能为空！");
+        for (int i = 0; i < size; i++) {
+            elements[i] = operator.apply(elements[i]);
+        }
+    }
+
+    @Override
+    protected Object[] toArray() {
+        return Arrays.copyOf(elements, size, Object[].class);
+    }
+
     @Override
     public int indexOf(Object o) {
         if (o == null) {
@@ -0,0 +1,80 @@
+package org.gzy.list.copyOnWriteList;
+
+import org.gzy.list.ILightList;
+import org.gzy.list.arrayList.LightArrayList;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.function.IntFunction;
+
+/**
+ * @author GaoZiYang
+ * @since 2021年09月24日 15:08:12
+ */
+public class CopyOnWriteArrayListTest {
+    private static final int READERS = 8;
+    private static final int READS_PER_THREAD = 5_000_000;
+    private static final int SIZE = 64;
+
+    public static void main(String[] args) throws InterruptedException {
+        LightCopyOnWriteArrayList<Integer> routes = new LightCopyOnWriteArrayList<>();
+        // 多次修改合并成一次复制
+        routes.batch(list -> {
+            for (int i = 0; i < SIZE; i++) {
+                list.add(i);
+            }
+        });
+        routes.set(0, 0);
+        System.out.println(routes.size() + " " + routes.get(SIZE - 1));
+
+        long time = run(routes::get, () -> routes.set(1, 1));
+        System.out.println("LightCopyOnWriteArrayList 耗时：" + time + "ms");
+
+        // 作为对比，每次读写都给动态数组加上同步锁
+        ILightList<Integer> lockedList = new LightArrayList<>();
+        for (int i = 0; i < SIZE; i++) {
+            lockedList.add(i);
+        }
+        time = run(index -> {
+            synchronized (lockedList) {
+                return lockedList.get(index);
+            }
+        }, () -> {
+            synchronized (lockedList) {
+                lockedList.set(1, 1);
+            }
+        });
+        System.out.println("synchronized LightArrayList 耗时：" + time + "ms");
+    }
+
+    /**
+     * 多个读线程不断随机读取，同时一个写线程偶尔修改
+     */
+    private static long run(IntFunction<Integer> reader, Runnable writer) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(READERS);
+        long start = System.nanoTime();
+        for (int t = 0; t < READERS; t++) {
+            new Thread(() -> {
+                long sum = 0;
+                for (int i = 0; i < READS_PER_THREAD; i++) {
+                    sum += reader.apply(i & (SIZE - 1));
+                }
+                if (sum < 0) System.out.println(sum);
+                latch.countDown();
+            }).start();
+        }
+        Thread writerThread = new Thread(() -> {
+            while (latch.getCount() > 0) {
+                writer.run();
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        writerThread.start();
+        latch.await();
+        writerThread.join();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
@@ -0,0 +1,292 @@
+package org.gzy.list.copyOnWriteList;
+
+import org.gzy.list.ILightList;
+import org.gzy.list.arrayList.LightArrayList;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * 写时复制动态数组
+ * <br/>适合读多写少的场景，例如配置表、路由表：
+ * <br/>1. 读操作直接读取volatile数组的快照，不加锁也不会被写操作阻塞，读线程越多越能体现优势；
+ * <br/>2. 写操作加锁后复制出新数组，修改完成后整体替换引用，读线程要么看到旧数组，要么看到新数组；
+ * <br/>3. 迭代器遍历的是创建时的快照，迭代过程中集合被修改也不会抛出异常，但迭代器不支持删除；
+ * <br/>4. 连续的多次修改应该放到 {@link #batch(Consumer)} 中，所有修改只复制和发布一次。
+ * @author GaoZiYang
+ * @since 2021年09月24日 14:20:37
+ */
+@SuppressWarnings("unchecked")
+public class LightCopyOnWriteArrayList<E> implements ILightList<E>, RandomAccess, Serializable {
+    /**
+     * 元素数组，只能整体替换，不能原地修改
+     */
+    private volatile E[] elements;
+
+    public LightCopyOnWriteArrayList() {
+        elements = (E[]) new Object[0];
+    }
+
+    /**
+     * @param list 初始元素
+     */
+    public LightCopyOnWriteArrayList(ILightList<? extends E> list) {
+        if (list == null) throw new IllegalArgumentException("集合不能为空！");
+        Object[] array = new Object[list.size()];
+        Iterator<? extends E> iterator = list.iterator();
+        for (int i = 0; i < array.length; i++) {
+            array[i] = iterator.next();
+        }
+        elements = (E[]) array;
+    }
+
+    /**
+     * 快照迭代器
+     */
+    private static class SnapshotIterator<E> implements Iterator<E> {
+        /**
+         * 创建迭代器时的数组快照
+         */
+        private final E[] snapshot;
+
+        /**
+         * 下一个元素的索引
+         */
+        private int cursor;
+
+        private SnapshotIterator(E[] snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < snapshot.length;
+        }
+
+        @Override
+        public E next() {
+            if (cursor >= snapshot.length) throw new NoSuchElementException();
+            return snapshot[cursor++];
+        }
+    }
+
+    /**
+     * 批量修改时使用的临时集合，复用动态数组的实现，修改完成后导出成新数组
+     */
+    private static class Batch<E> extends LightArrayList<E> {
+        private Batch(E[] snapshot) {
+            super(snapshot.length);
+            addAll(0, snapshot);
+        }
+
+        private E[] publish() {
+            return (E[]) toArray();
+        }
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return elements.length == 0;
+    }
+
+    @Override
+    public boolean contains(E e) {
+        return indexOf(e) != -1;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new SnapshotIterator<>(elements);
+    }
+
+    @Override
+    public E get(int index) {
+        E[] snapshot = elements;
+        rangeCheck(index, snapshot.length);
+        return snapshot[index];
+    }
+
+    @Override
+    public int indexOf(E e) {
+        return indexOf(elements, e);
+    }
+
+    @Override
+    public int lastIndexOf(E e) {
+        E[] snapshot = elements;
+        for (int i = snapshot.length - 1; i >= 0; i--) {
+            if (e == null ? snapshot[i] == null : e.equals(snapshot[i])) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * 获取当前所有元素的副本
+     * @return 按索引顺序排列的元素数组
+     */
+    public Object[] toArray() {
+        E[] snapshot = elements;
+        return Arrays.copyOf(snapshot, snapshot.length, Object[].class);
+    }
+
+    @Override
+    public synchronized void add(E e) {
+        E[] snapshot = elements;
+        E[] newElements = Arrays.copyOf(snapshot, snapshot.length + 1);
+        newElements[snapshot.length] = e;
+        elements = newElements;
+    }
+
+    @Override
+    public synchronized void add(int index, E e) {
+        E[] snapshot = elements;
+        if (index < 0 || index > snapshot.length) {
+            throw new IndexOutOfBoundsException("索引越界，索引：" + index + "，数量：" + snapshot.length);
+        }
+        E[] newElements = (E[]) new Object[snapshot.length + 1];
+        System.arraycopy(snapshot, 0, newElements, 0, index);
+        System.arraycopy(snapshot, index, newElements, index + 1, snapshot.length - index);
+        newElements[index] = e;
+        elements = newElements;
+    }
+
+    @Override
+    public synchronized E set(int index, E e) {
+        E[] snapshot = elements;
+        rangeCheck(index, snapshot.length);
+        E oldElement = snapshot[index];
+        E[] newElements = snapshot.clone();
+        newElements[index] = e;
+        elements = newElements;
+        return oldElement;
+    }
+
+    @Override
+    public synchronized E remove(int index) {
+        E[] snapshot = elements;
+        rangeCheck(index, snapshot.length);
+        E oldElement = snapshot[index];
+        elements = removeAt(snapshot, index);
+        return oldElement;
+    }
+
+    @Override
+    public synchronized boolean remove(E e) {
+        E[] snapshot = elements;
+        int index = indexOf(snapshot, e);
+        if (index == -1) return false;
+        elements = removeAt(snapshot, index);
+        return true;
+    }
+
+    @Override
+    public synchronized void clear() {
+        elements = (E[]) new Object[0];
+    }
+
+    @Override
+    public void addAll(int index, ILightList<? extends E> list) {
+        if (list == null) throw new IllegalArgumentException("集合不能为空！");
+        batch(batch -> batch.addAll(index, list));
+    }
+
+    @Override
+    public void addAll(int index, E[] elements) {
+        if (elements == null) throw new IllegalArgumentException("数组不能为空！");
+        batch(batch -> batch.addAll(index, elements));
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        batch(batch -> batch.removeRange(fromIndex, toIndex));
+    }
+
+    /**
+     * 没有元素被移除时不发布新数组
+     */
+    @Override
+    public synchronized boolean removeIf(Predicate<? super E> filter) {
+        if (filter == null) throw new IllegalArgumentException("移除条件不能为空！");
+        E[] snapshot = elements;
+        E[] kept = (E[]) new Object[snapshot.length];
+        int count = 0;
+        for (E e : snapshot) {
+            if (!filter.test(e)) kept[count++] = e;
+        }
+        if (count == snapshot.length) return false;
+        elements = Arrays.copyOf(kept, count);
+        return true;
+    }
+
+    @Override
+    public synchronized void replaceAll(UnaryOperator<E> operator) {
+        if (operator == null) throw new IllegalArgumentException("替换操作不能为空！");
+        E[] newElements = elements.clone();
+        for (int i = 0; i < newElements.length; i++) {
+            newElements[i] = operator.apply(newElements[i]);
+        }
+        elements = newElements;
+    }
+
+    /**
+     * 批量修改，所有修改完成后只发布一次新数组
+     * <br/>修改期间持有集合的锁，其他写操作会等待，读操作不受影响，读到的仍是修改前的快照
+     * <br/>修改过程中抛出异常时，已经做的修改全部丢弃，集合保持原样
+     * <br/>传给mutator的临时集合只在本次调用中有效，不能保存到外部使用
+     * @param mutator 修改操作
+     */
+    public synchronized void batch(Consumer<? super ILightList<E>> mutator) {
+        if (mutator == null) throw new IllegalArgumentException("修改操作不能为空！");
+        Batch<E> batch = new Batch<>(elements);
+        mutator.accept(batch);
+        elements = batch.publish();
+    }
+
+    /**
+     * 复制出删除了指定索引上元素的新数组
+     * @param snapshot 原数组
+     * @param index 要删除的索引
+     * @return 新数组
+     */
+    private static <E> E[] removeAt(E[] snapshot, int index) {
+        E[] newElements = (E[]) new Object[snapshot.length - 1];
+        System.arraycopy(snapshot, 0, newElements, 0, index);
+        System.arraycopy(snapshot, index + 1, newElements, index, snapshot.length - index - 1);
+        return newElements;
+    }
+
+    private static <E> int indexOf(E[] snapshot, E e) {
+        for (int i = 0; i < snapshot.length; i++) {
+            if (e == null ? snapshot[i] == null : e.equals(snapshot[i])) return i;
+        }
+        return -1;
+    }
+
+    private static void rangeCheck(int index, int size) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("索引越界，索引：" + index + "，数量：" + size);
+    }
+
+    @Override
+    public String toString() {
+        E[] snapshot = elements;
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        for (int i = 0; i < snapshot.length; i++) {
+            if (i != 0) sb.append(",");
+            sb.append(snapshot[i]);
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+}
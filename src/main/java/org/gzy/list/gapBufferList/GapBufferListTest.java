@@ -0,0 +1,60 @@
+package org.gzy.list.gapBufferList;
+
+import org.gzy.list.ILightList;
+
+import java.util.Iterator;
+import java.util.Random;
+
+/**
+ * @author GaoZiYang
+ * @since 2021年09月23日 16:02:41
+ */
+public class GapBufferListTest {
+    public static void main(String[] args) {
+        ILightList<Character> text = new LightGapBufferList<>();
+        for (char c : "hello world".toCharArray()) {
+            text.add(c);
+        }
+        // 光标移到第5个字符后面，连续输入
+        int cursor = 5;
+        for (char c : ", gap buffer".toCharArray()) {
+            text.add(cursor++, c);
+        }
+        System.out.println(text);
+        // 在光标处连续退格
+        for (int i = 0; i < 7; i++) {
+            text.remove(--cursor);
+        }
+        System.out.println(text + " " + text.size());
+
+        // 迭代器删除当前字符，每次调用next以后只能删除一次
+        Iterator<Character> iterator = text.iterator();
+        iterator.next();
+        iterator.remove();
+        boolean thrown = false;
+        try {
+            iterator.remove();
+        } catch (IllegalStateException e) {
+            thrown = true;
+        }
+        if (!thrown) throw new IllegalStateException("测试失败：连续调用remove没有抛出异常");
+        System.out.println(text + " " + text.size());
+
+        // 始终在中间插入，每次插入的位置和上一次最多相差1，间隙几乎不需要移动，这是间隙缓冲区最擅长的情况
+        long start = System.currentTimeMillis();
+        ILightList<Integer> list = new LightGapBufferList<>();
+        for (int i = 0; i < 1000000; i++) {
+            list.add(list.size() >> 1, i);
+        }
+        System.out.println("在中间插入100万个元素耗时：" + (System.currentTimeMillis() - start) + "ms");
+
+        // 远离光标的随机编辑，每次都要把间隙移动到新位置，和普通数组一样需要搬动元素
+        start = System.currentTimeMillis();
+        Random random = new Random(42);
+        list = new LightGapBufferList<>();
+        for (int i = 0; i < 50000; i++) {
+            list.add(random.nextInt(list.size() + 1), i);
+        }
+        System.out.println("在随机位置插入5万个元素耗时：" + (System.currentTimeMillis() - start) + "ms");
+    }
+}
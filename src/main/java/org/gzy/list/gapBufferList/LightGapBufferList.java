@@ -0,0 +1,329 @@
+package org.gzy.list.gapBufferList;
+
+import org.gzy.list.AbstractLightList;
+import org.gzy.list.ILightList;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * 间隙缓冲区
+ * <br/>数组中间留出一段空闲的间隙，元素分布在间隙的两侧：[0, gapStart)和[gapEnd, elements.length)
+ * <br/>插入和删除都在间隙的边缘进行，只有编辑位置变化时才把间隙移动过去，移动的距离就是两次编辑位置的距离
+ * <br/>编辑位置集中在一个光标附近时（例如文本编辑），插入和删除的均摊时间复杂度为O(1)，随机访问仍然是O(1)
+ * @author GaoZiYang
+ * @since 2021年09月23日 15:36:20
+ */
+@SuppressWarnings("unchecked")
+public class LightGapBufferList<E> extends AbstractLightList<E> implements ILightList<E>, RandomAccess, Cloneable, Serializable {
+    /**
+     * 元素数组，间隙以外的部分存放元素
+     */
+    private E[] elements;
+
+    /**
+     * 间隙的起始位置（包含）
+     */
+    private int gapStart;
+
+    /**
+     * 间隙的结束位置（不包含）
+     */
+    private int gapEnd;
+
+    /**
+     * 默认容量为16
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * 数组的最大长度，部分虚拟机会在数组中保留一些头信息
+     */
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    public LightGapBufferList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LightGapBufferList(int capacity) {
+        capacity = capacity <= 0 ? DEFAULT_CAPACITY : capacity;
+        elements = (E[]) new Object[capacity];
+        gapEnd = capacity;
+    }
+
+    /**
+     * 迭代器
+     */
+    private class LightGapBufferListIterator implements Iterator<E> {
+        /**
+         * 下一个元素的索引
+         */
+        private int cursor;
+
+        /**
+         * 最近一次返回的元素的索引，没有可以删除的元素时为-1
+         */
+        private int lastRet = -1;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public E next() {
+            if (cursor >= size) throw new NoSuchElementException();
+            lastRet = cursor++;
+            return elements[physicalIndex(lastRet)];
+        }
+
+        @Override
+        public void remove() {
+            if (lastRet < 0) throw new IllegalStateException();
+            LightGapBufferList.this.remove(lastRet);
+            cursor = lastRet;
+            lastRet = -1;
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new LightGapBufferListIterator();
+    }
+
+    @Override
+    public E get(int index) {
+        rangeCheck(index);
+        return elements[physicalIndex(index)];
+    }
+
+    @Override
+    public E set(int index, E e) {
+        rangeCheck(index);
+        int i = physicalIndex(index);
+        E oldElement = elements[i];
+        elements[i] = e;
+        return oldElement;
+    }
+
+    @Override
+    public void add(int index, E e) {
+        rangeCheckForAdd(index);
+        expand(size + 1);
+        moveGap(index);
+        elements[gapStart++] = e;
+        size++;
+    }
+
+    /**
+     * 删除间隙左边的元素时缩短间隙的起点，删除右边的元素时推后间隙的终点，
+     * 光标前后的退格和删除都不需要移动间隙
+     */
+    @Override
+    public E remove(int index) {
+        rangeCheck(index);
+        E oldElement;
+        if (index < gapStart) {
+            moveGap(index + 1);
+            oldElement = elements[--gapStart];
+            elements[gapStart] = null;
+        } else {
+            moveGap(index);
+            oldElement = elements[gapEnd];
+            elements[gapEnd++] = null;
+        }
+        size--;
+        return oldElement;
+    }
+
+    @Override
+    public void addAll(int index, E[] elements) {
+        rangeCheckForAdd(index);
+        if (elements == null) throw new IllegalArgumentException("数组不能为空！");
+        int count = elements.length;
+        if (count == 0) return;
+
+        expand(size + count);
+        moveGap(index);
+        System.arraycopy(elements, 0, this.elements, gapStart, count);
+        gapStart += count;
+        size += count;
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        rangeCheckForRemove(fromIndex, toIndex);
+        int count = toIndex - fromIndex;
+        if (count == 0) return;
+
+        moveGap(fromIndex);
+        Arrays.fill(elements, gapEnd, gapEnd + count, null);
+        gapEnd += count;
+        size -= count;
+    }
+
+    /**
+     * 先把间隙移到末尾，元素连续排列后再一次遍历完成移除
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        if (filter == null) throw new IllegalArgumentException("移除条件不能为空！");
+        moveGap(size);
+        int oldSize = size;
+        int write = 0;
+        int read = 0;
+        try {
+            for (; read < oldSize; read++) {
+                E e = elements[read];
+                if (!filter.test(e)) elements[write++] = e;
+            }
+        } finally {
+            // 条件抛出异常时，保留还没有判断的元素
+            if (read < oldSize) {
+                System.arraycopy(elements, read, elements, write, oldSize - read);
+                write += oldSize - read;
+            }
+            Arrays.fill(elements, write, oldSize, null);
+            size = write;
+            gapStart = write;
+        }
+        return write != oldSize;
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<E> operator) {
+        if (operator == null) throw new IllegalArgumentException("替换操作不能为空！");
+        for (int i = 0; i < gapStart; i++) {
+            elements[i] = operator.apply(elements[i]);
+        }
+        for (int i = gapEnd; i < elements.length; i++) {
+            elements[i] = operator.apply(elements[i]);
+        }
+    }
+
+    @Override
+    protected Object[] toArray() {
+        Object[] array = new Object[size];
+        System.arraycopy(elements, 0, array, 0, gapStart);
+        System.arraycopy(elements, gapEnd, array, gapStart, elements.length - gapEnd);
+        return array;
+    }
+
+    @Override
+    public int indexOf(E e) {
+        for (int i = 0; i < size; i++) {
+            E element = elements[physicalIndex(i)];
+            if (e == null ? element == null : e.equals(element)) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(E e) {
+        for (int i = size - 1; i >= 0; i--) {
+            E element = elements[physicalIndex(i)];
+            if (e == null ? element == null : e.equals(element)) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(elements, null);
+        gapStart = 0;
+        gapEnd = elements.length;
+        size = 0;
+    }
+
+    /**
+     * 确保数组至少能容纳指定数量的元素，可以在添加大量元素之前调用，避免多次扩容
+     * @param minCapacity 要求的最小容量
+     */
+    public void ensureCapacity(int minCapacity) {
+        expand(minCapacity);
+    }
+
+    /**
+     * 将数组长度缩减为元素数量，释放间隙占用的空间
+     */
+    public void trimToSize() {
+        if (elements.length == size) return;
+        moveGap(size);
+        elements = Arrays.copyOf(elements, size);
+        gapEnd = size;
+    }
+
+    /**
+     * 获取逻辑索引对应的数组下标，间隙右边的元素要跳过间隙
+     * @param index 逻辑索引
+     * @return 数组下标
+     */
+    private int physicalIndex(int index) {
+        return index < gapStart ? index : index + (gapEnd - gapStart);
+    }
+
+    /**
+     * 把间隙移动到指定的逻辑索引处，只复制间隙和目标位置之间的元素
+     * @param index 间隙移动后的起始位置
+     */
+    private void moveGap(int index) {
+        if (index == gapStart) return;
+        int gapLength = gapEnd - gapStart;
+        if (index < gapStart) {
+            // 间隙左移，[index, gapStart)的元素搬到间隙右边
+            System.arraycopy(elements, index, elements, index + gapLength, gapStart - index);
+            Arrays.fill(elements, index, Math.min(gapStart, index + gapLength), null);
+        } else {
+            // 间隙右移，间隙右边的index - gapStart个元素搬到间隙左边
+            int moved = index - gapStart;
+            System.arraycopy(elements, gapEnd, elements, gapStart, moved);
+            Arrays.fill(elements, Math.max(gapEnd, index), gapEnd + moved, null);
+        }
+        gapStart = index;
+        gapEnd = index + gapLength;
+    }
+
+    /**
+     * 扩容，一般扩容为原来的1.5倍，不够时直接扩容到要求的最小容量
+     * <br/>间隙右边的元素搬到新数组的末尾，新增的空间都并入间隙
+     * @param minCapacity 扩容要求的最小容量
+     */
+    private void expand(int minCapacity) {
+        if (elements.length >= minCapacity) return;
+        if (minCapacity < 0 || minCapacity > MAX_ARRAY_LENGTH) throw new IllegalStateException("集合已达到最大容量！");
+        int newLength = elements.length + (elements.length >> 1);
+        // 数组很长时，1.5倍可能溢出
+        if (newLength < 0 || newLength > MAX_ARRAY_LENGTH) newLength = MAX_ARRAY_LENGTH;
+        // 数组长度为0或1时，1.5倍不会增加长度
+        if (newLength < minCapacity) newLength = minCapacity;
+
+        E[] newElements = (E[]) new Object[newLength];
+        int tailLength = elements.length - gapEnd;
+        System.arraycopy(elements, 0, newElements, 0, gapStart);
+        System.arraycopy(elements, gapEnd, newElements, newLength - tailLength, tailLength);
+        elements = newElements;
+        gapEnd = newLength - tailLength;
+    }
+
+    @Override
+    protected Object clone() throws CloneNotSupportedException {
+        return super.clone();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        for (int i = 0; i < size; i++) {
+            if (i != 0) sb.append(",");
+            sb.append(elements[physicalIndex(i)]);
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+}
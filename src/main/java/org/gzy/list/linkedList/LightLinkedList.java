@@ -4,7 +4,12 @@ import org.gzy.list.AbstractLightList;
 import org.gzy.list.ILightList;
 
 import java.io.Serializable;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 /**
  * 双向链表
@@ -23,6 +28,11 @@ public class LightLinkedList<E> extends AbstractLightList<E> implements ILightLi
      */
     private Node<E> tail;
 
+    /**
+     * 结构修改次数，迭代器用它发现迭代过程中的并发修改
+     */
+    private transient int modCount;
+
     /**
      * 节点元素
      * @param <E> 所存储元素的类型
@@ -72,31 +82,134 @@ public class LightLinkedList<E> extends AbstractLightList<E> implements ILightLi
     }
 
     /**
-     * 迭代器
-     * @param <E> 元素类型
+     * 列表迭代器，沿着节点链前后移动，每一步都是O(1)
+     * <br/>迭代过程中链表被迭代器以外的操作修改了结构，会抛出 {@link ConcurrentModificationException}
      */
-    private class LightLinkedListIterator<E> implements Iterator<E> {
-        private final int cursor = 0;
+    private class LightLinkedListIterator implements ListIterator<E> {
+        /**
+         * 下一次调用 {@link #next()} 返回的节点，为null表示已经到了末尾
+         */
+        private Node<E> next;
+
+        /**
+         * 下一次调用 {@link #next()} 返回的元素的索引
+         */
+        private int nextIndex;
+
+        /**
+         * 最近一次调用 {@link #next()} 或 {@link #previous()} 返回的节点，set和remove作用在该节点上
+         */
+        private Node<E> lastReturned;
+
+        /**
+         * 迭代器期望的结构修改次数
+         */
+        private int expectedModCount = modCount;
+
+        LightLinkedListIterator(int index) {
+            next = index == size ? null : node(index);
+            nextIndex = index;
+        }
 
         @Override
         public boolean hasNext() {
-            return cursor <= size - 1;
+            return nextIndex < size;
         }
 
         @Override
         public E next() {
-            return (E) node(cursor).element;
+            checkForComodification();
+            if (!hasNext()) throw new NoSuchElementException();
+            lastReturned = next;
+            next = next.next;
+            nextIndex++;
+            return lastReturned.element;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @Override
+        public E previous() {
+            checkForComodification();
+            if (!hasPrevious()) throw new NoSuchElementException();
+            // 已经到了末尾时，上一个节点就是尾节点
+            next = next == null ? tail : next.prev;
+            lastReturned = next;
+            nextIndex--;
+            return lastReturned.element;
+        }
+
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
         }
 
         @Override
         public void remove() {
-            LightLinkedList.this.remove(cursor);
+            checkForComodification();
+            if (lastReturned == null) throw new IllegalStateException();
+            Node<E> lastNext = lastReturned.next;
+            unlink(lastReturned);
+            if (next == lastReturned) {
+                // 上一步是previous()，删除的正是下一个节点
+                next = lastNext;
+            } else {
+                nextIndex--;
+            }
+            lastReturned = null;
+            expectedModCount++;
+        }
+
+        @Override
+        public void set(E e) {
+            if (lastReturned == null) throw new IllegalStateException();
+            checkForComodification();
+            lastReturned.element = e;
+        }
+
+        @Override
+        public void add(E e) {
+            checkForComodification();
+            lastReturned = null;
+            linkBefore(e, next);
+            nextIndex++;
+            expectedModCount++;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
         }
     }
 
     @Override
     public Iterator<E> iterator() {
-        return new LightLinkedListIterator<>();
+        return new LightLinkedListIterator(0);
+    }
+
+    /**
+     * 获取从头节点开始的列表迭代器
+     * @return 列表迭代器
+     */
+    public ListIterator<E> listIterator() {
+        return new LightLinkedListIterator(0);
+    }
+
+    /**
+     * 获取从指定位置开始的列表迭代器
+     * @param index 第一次调用next()返回的元素的索引
+     * @return 列表迭代器
+     */
+    public ListIterator<E> listIterator(int index) {
+        rangeCheckForAdd(index);
+        return new LightLinkedListIterator(index);
     }
 
     @Override
@@ -142,6 +255,7 @@ public class LightLinkedList<E> extends AbstractLightList<E> implements ILightLi
         head = null;
         tail = null;
         size = 0;
+        modCount++;
     }
 
     @Override
@@ -162,34 +276,139 @@ public class LightLinkedList<E> extends AbstractLightList<E> implements ILightLi
     @Override
     public void add(int index, E e) {
         rangeCheckForAdd(index);
-        if (index == size) {
-            Node<E> newNode = new Node<>(e, tail, null);
-            if (tail == null) {
-                head = newNode;
-            } else {
-                tail.next = newNode;
-            }
-            tail = newNode;
-        } else {
-            Node<E> oldNode = node(index);
-            Node<E> prevNode = oldNode.prev;
-            Node<E> newNode = new Node<>(e, prevNode, oldNode);
-            oldNode.prev = newNode;
+        linkBefore(e, index == size ? null : node(index));
+    }
+
+    @Override
+    public E remove(int index) {
+        rangeCheck(index);
+        Node<E> oldNode = node(index);
+        unlink(oldNode);
+        return oldNode.element;
+    }
+
+    /**
+     * 先把新元素串成一条链，再整体接到指定位置上，只需要查找一次节点
+     */
+    @Override
+    public void addAll(int index, E[] elements) {
+        rangeCheckForAdd(index);
+        if (elements == null) throw new IllegalArgumentException("数组不能为空！");
+        if (elements.length == 0) return;
+
+        Node<E> nextNode = index == size ? null : node(index);
+        Node<E> prevNode = nextNode == null ? tail : nextNode.prev;
+        for (E e : elements) {
+            Node<E> newNode = new Node<>(e, prevNode, null);
             if (prevNode == null) {
                 head = newNode;
             } else {
                 prevNode.next = newNode;
             }
+            prevNode = newNode;
         }
-        size++;
+        if (nextNode == null) {
+            tail = prevNode;
+        } else {
+            prevNode.next = nextNode;
+            nextNode.prev = prevNode;
+        }
+        size += elements.length;
+        modCount++;
     }
 
+    /**
+     * 找到区间的首尾节点后，把整段节点从链表中摘下来
+     */
     @Override
-    public E remove(int index) {
-        rangeCheck(index);
-        Node<E> oldNode = node(index);
-        Node<E> prevNode = oldNode.prev;
-        Node<E> nextNode = oldNode.next;
+    public void removeRange(int fromIndex, int toIndex) {
+        rangeCheckForRemove(fromIndex, toIndex);
+        if (fromIndex == toIndex) return;
+
+        Node<E> first = node(fromIndex);
+        Node<E> last = first;
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            last = last.next;
+        }
+        Node<E> prevNode = first.prev;
+        Node<E> nextNode = last.next;
+        if (prevNode == null) {
+            head = nextNode;
+        } else {
+            prevNode.next = nextNode;
+        }
+        if (nextNode == null) {
+            tail = prevNode;
+        } else {
+            nextNode.prev = prevNode;
+        }
+        size -= toIndex - fromIndex;
+        modCount++;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        if (filter == null) throw new IllegalArgumentException("移除条件不能为空！");
+        boolean removed = false;
+        Node<E> node = head;
+        while (node != null) {
+            Node<E> nextNode = node.next;
+            if (filter.test(node.element)) {
+                unlink(node);
+                removed = true;
+            }
+            node = nextNode;
+        }
+        return removed;
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<E> operator) {
+        if (operator == null) throw new IllegalArgumentException("替换操作不能为空！");
+        for (Node<E> node = head; node != null; node = node.next) {
+            node.element = operator.apply(node.element);
+        }
+    }
+
+    @Override
+    protected Object[] toArray() {
+        Object[] array = new Object[size];
+        int i = 0;
+        for (Node<E> node = head; node != null; node = node.next) {
+            array[i++] = node.element;
+        }
+        return array;
+    }
+
+    /**
+     * 在指定节点前面插入新元素
+     * @param e 新元素
+     * @param succ 指定节点，为null时表示插入到尾部
+     */
+    private void linkBefore(E e, Node<E> succ) {
+        Node<E> prevNode = succ == null ? tail : succ.prev;
+        Node<E> newNode = new Node<>(e, prevNode, succ);
+        if (prevNode == null) {
+            head = newNode;
+        } else {
+            prevNode.next = newNode;
+        }
+        if (succ == null) {
+            tail = newNode;
+        } else {
+            succ.prev = newNode;
+        }
+        size++;
+        modCount++;
+    }
+
+    /**
+     * 将节点从链表中移除
+     * @param node 要移除的节点
+     */
+    private void unlink(Node<E> node) {
+        Node<E> prevNode = node.prev;
+        Node<E> nextNode = node.next;
         if (prevNode == null) {
             head = nextNode;
         } else {
@@ -201,7 +420,7 @@ public class LightLinkedList<E> extends AbstractLightList<E> implements ILightLi
             nextNode.prev = prevNode;
         }
         size--;
-        return oldNode.element;
+        modCount++;
     }
 
     @Override
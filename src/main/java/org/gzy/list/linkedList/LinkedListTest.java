@@ -2,6 +2,12 @@ package org.gzy.list.linkedList;
 
 import org.gzy.list.ILightList;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+
 /**
  * @author GaoZiYang
  * @since 2021年07月14日 22:35:26
@@ -16,5 +22,72 @@ public class LinkedListTest {
         list.add(2);
         list.add(5);
         System.out.println(list);
+
+        // 用列表迭代器删除所有的2，在3后面插入4，再倒着遍历
+        ListIterator<Integer> iterator = ((LightLinkedList<Integer>) list).listIterator();
+        while (iterator.hasNext()) {
+            Integer e = iterator.next();
+            if (e == 2) iterator.remove();
+            if (e == 3) iterator.add(4);
+        }
+        while (iterator.hasPrevious()) {
+            System.out.print(iterator.previous() + " ");
+        }
+        System.out.println();
+
+        bulk(new LightLinkedList<>());
+    }
+
+    /**
+     * 批量操作与ArrayList的结果对比
+     */
+    private static void bulk(ILightList<Integer> list) {
+        List<Integer> reference = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            list.add(i);
+            reference.add(i);
+        }
+        list.addAll(5, new Integer[]{100, 101, 102});
+        reference.addAll(5, Arrays.asList(100, 101, 102));
+        // 把集合添加到自身
+        list.addAll(list.size(), list);
+        reference.addAll(reference.size(), new ArrayList<>(reference));
+        check(list, reference, "addAll");
+
+        list.removeRange(3, 10);
+        reference.subList(3, 10).clear();
+        check(list, reference, "removeRange");
+
+        list.removeIf(e -> e % 3 == 0);
+        reference.removeIf(e -> e % 3 == 0);
+        check(list, reference, "removeIf");
+
+        list.replaceAll(e -> e * 2);
+        reference.replaceAll(e -> e * 2);
+        check(list, reference, "replaceAll");
+
+        // 条件在判断第6个元素时抛出异常，前5个元素按判断结果移除，没有判断的元素全部保留
+        int[] tested = {0};
+        try {
+            list.removeIf(e -> {
+                if (++tested[0] > 5) throw new ArithmeticException("条件执行失败");
+                return e % 4 == 0;
+            });
+        } catch (ArithmeticException ignored) {
+        }
+        Iterator<Integer> iterator = reference.iterator();
+        for (int i = 0; i < 5; i++) {
+            if (iterator.next() % 4 == 0) iterator.remove();
+        }
+        check(list, reference, "removeIf抛出异常");
+        System.out.println(list);
+    }
+
+    private static void check(ILightList<Integer> list, List<Integer> reference, String operation) {
+        boolean same = list.size() == reference.size();
+        for (int i = 0; same && i < reference.size(); i++) {
+            same = reference.get(i).equals(list.get(i));
+        }
+        if (!same) throw new IllegalStateException("测试失败：" + operation + "，期望" + reference + "，实际" + list);
     }
 }
@@ -0,0 +1,679 @@
+package org.gzy.list.persistentVector;
+
+import org.gzy.list.ILightList;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * 持久化向量
+ * <br/>不可变的线性表，元素存放在32叉的前缀树中，最后不满32个的元素单独放在尾部数组里：
+ * <br/>1. 随机访问按索引每5位向下走一层，100万个元素只有4层，接近O(1)；
+ * <br/>2. {@link #append(Object)}、{@link #update(int, Object)}、{@link #removeLast()}不会修改当前集合，
+ * 只复制从根到叶子的一条路径，其余节点由新旧版本共享；
+ * <br/>3. 集合本身就是快照，多个线程读取时不需要加锁；
+ * <br/>4. 批量修改时使用 {@link Builder}，构建期间只复制一次路径上的节点，之后原地修改。
+ * <br/>{@link ILightList}中修改集合的方法都会抛出 {@link UnsupportedOperationException}
+ * @author GaoZiYang
+ * @since 2021年09月24日 09:48:05
+ */
+@SuppressWarnings("unchecked")
+public class LightPersistentVector<E> implements ILightList<E>, Serializable {
+    /**
+     * 元素数量
+     */
+    private final int size;
+
+    /**
+     * 根节点所在层对应的索引位移，每一层5位
+     */
+    private final int shift;
+
+    /**
+     * 前缀树的根节点
+     */
+    private final Node root;
+
+    /**
+     * 尾部数组，存放最后不满32个的元素
+     */
+    private final Object[] tail;
+
+    /**
+     * 每个节点的分支数量对应的位数
+     */
+    private static final int BITS = 5;
+
+    /**
+     * 每个节点的分支数量
+     */
+    private static final int WIDTH = 1 << BITS;
+
+    /**
+     * 取出一层索引的掩码
+     */
+    private static final int MASK = WIDTH - 1;
+
+    /**
+     * 空节点，所有空集合共享
+     */
+    private static final Node EMPTY_NODE = new Node(null);
+
+    /**
+     * 空集合
+     */
+    private static final LightPersistentVector<?> EMPTY = new LightPersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    /**
+     * 前缀树节点
+     * <br/>edit与构建器的标记相同时，节点归该构建器独占，可以原地修改；否则节点可能被共享，修改前必须复制
+     */
+    private static class Node implements Serializable {
+        /**
+         * 所属构建器的标记
+         */
+        private final transient Object edit;
+
+        /**
+         * 子节点，叶子节点中存放的是元素
+         */
+        private final Object[] array;
+
+        private Node(Object edit) {
+            this(edit, new Object[WIDTH]);
+        }
+
+        private Node(Object edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+    }
+
+    private LightPersistentVector(int size, int shift, Node root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * 获取空集合
+     * @return 空集合
+     */
+    public static <E> LightPersistentVector<E> empty() {
+        return (LightPersistentVector<E>) EMPTY;
+    }
+
+    /**
+     * 使用指定的元素创建集合
+     * @param elements 元素
+     * @return 新集合
+     */
+    @SafeVarargs
+    public static <E> LightPersistentVector<E> of(E... elements) {
+        if (elements == null) throw new IllegalArgumentException("数组不能为空！");
+        Builder<E> builder = builder();
+        for (E e : elements) {
+            builder.add(e);
+        }
+        return builder.build();
+    }
+
+    /**
+     * 复制指定集合中的元素，生成一个快照
+     * @param list 要复制的集合
+     * @return 新集合
+     */
+    public static <E> LightPersistentVector<E> copyOf(ILightList<? extends E> list) {
+        if (list == null) throw new IllegalArgumentException("集合不能为空！");
+        if (list instanceof LightPersistentVector) return (LightPersistentVector<E>) list;
+        Builder<E> builder = builder();
+        Iterator<? extends E> iterator = list.iterator();
+        while (iterator.hasNext()) {
+            builder.add(iterator.next());
+        }
+        return builder.build();
+    }
+
+    /**
+     * 获取从空集合开始的构建器
+     * @return 构建器
+     */
+    public static <E> Builder<E> builder() {
+        return new Builder<>(empty());
+    }
+
+    /**
+     * 获取以当前集合为起点的构建器，当前集合不受影响
+     * @return 构建器
+     */
+    public Builder<E> toBuilder() {
+        return new Builder<>(this);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(E e) {
+        return indexOf(e) != -1;
+    }
+
+    @Override
+    public E get(int index) {
+        rangeCheck(index, size);
+        return (E) arrayFor(index, size, shift, root, tail)[index & MASK];
+    }
+
+    @Override
+    public int indexOf(E e) {
+        Object[] array = null;
+        for (int i = 0; i < size; i++) {
+            // 每32个元素才需要从根节点查找一次叶子
+            if ((i & MASK) == 0) array = arrayFor(i, size, shift, root, tail);
+            Object element = array[i & MASK];
+            if (e == null ? element == null : e.equals(element)) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(E e) {
+        Object[] array = null;
+        for (int i = size - 1; i >= 0; i--) {
+            if (array == null || (i & MASK) == MASK) array = arrayFor(i, size, shift, root, tail);
+            Object element = array[i & MASK];
+            if (e == null ? element == null : e.equals(element)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * 迭代器，每次取出一整个叶子数组，在叶子内部顺序读取
+     */
+    private class LightPersistentVectorIterator implements Iterator<E> {
+        /**
+         * 下一个元素的索引
+         */
+        private int cursor;
+
+        /**
+         * 下一个元素所在的叶子数组
+         */
+        private Object[] array;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public E next() {
+            if (cursor >= size) throw new NoSuchElementException();
+            if ((cursor & MASK) == 0) array = arrayFor(cursor, size, shift, root, tail);
+            return (E) array[cursor++ & MASK];
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new LightPersistentVectorIterator();
+    }
+
+    /**
+     * 在尾部添加元素，返回新集合
+     * @param e 新元素
+     * @return 新集合，当前集合不变
+     */
+    public LightPersistentVector<E> append(E e) {
+        // 尾部数组没满，只需要复制尾部数组
+        if (size - tailOffset(size) < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = e;
+            return new LightPersistentVector<>(size + 1, shift, root, newTail);
+        }
+
+        // 尾部数组满了，整个挂到树上，再开始一个新的尾部数组
+        Node tailNode = new Node(null, tail);
+        Node newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            // 根节点满了，树长高一层
+            newRoot = new Node(null);
+            newRoot.array[0] = root;
+            newRoot.array[1] = newPath(null, shift, tailNode);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tailNode);
+        }
+        return new LightPersistentVector<>(size + 1, newShift, newRoot, new Object[]{e});
+    }
+
+    /**
+     * 替换指定索引上的元素，返回新集合
+     * @param index 索引
+     * @param e 新元素
+     * @return 新集合，当前集合不变
+     */
+    public LightPersistentVector<E> update(int index, E e) {
+        rangeCheck(index, size);
+        if (index >= tailOffset(size)) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = e;
+            return new LightPersistentVector<>(size, shift, root, newTail);
+        }
+        return new LightPersistentVector<>(size, shift, updatePath(shift, root, index, e), tail);
+    }
+
+    /**
+     * 删除最后一个元素，返回新集合
+     * @return 新集合，当前集合不变
+     */
+    public LightPersistentVector<E> removeLast() {
+        if (size == 0) throw new NoSuchElementException("集合为空！");
+        if (size == 1) return empty();
+        if (size - tailOffset(size) > 1) {
+            return new LightPersistentVector<>(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+        }
+
+        // 尾部数组只剩一个元素，把树上最后一个叶子摘下来作为新的尾部数组
+        Object[] newTail = arrayFor(size - 2, size, shift, root, tail);
+        Node newRoot = popTail(shift, root);
+        int newShift = shift;
+        if (newRoot == null) newRoot = EMPTY_NODE;
+        if (shift > BITS && newRoot.array[1] == null) {
+            // 根节点只剩一个分支，树降低一层
+            newRoot = (Node) newRoot.array[0];
+            newShift -= BITS;
+        }
+        return new LightPersistentVector<>(size - 1, newShift, newRoot, newTail);
+    }
+
+    /**
+     * 获取全部元素的数组
+     * @return 按索引顺序排列的元素数组
+     */
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        int tailOffset = tailOffset(size);
+        for (int i = 0; i < tailOffset; i += WIDTH) {
+            System.arraycopy(arrayFor(i, size, shift, root, tail), 0, array, i, WIDTH);
+        }
+        System.arraycopy(tail, 0, array, tailOffset, size - tailOffset);
+        return array;
+    }
+
+    /**
+     * 把尾部数组挂到树的最右侧，沿途的节点都复制一份
+     * @param level 当前节点所在层的位移
+     * @param parent 当前节点
+     * @param tailNode 尾部数组包装成的叶子节点
+     * @return 复制后的当前节点
+     */
+    private Node pushTail(int level, Node parent, Node tailNode) {
+        int subIndex = ((size - 1) >>> level) & MASK;
+        Node node = new Node(null, parent.array.clone());
+        Node child;
+        if (level == BITS) {
+            child = tailNode;
+        } else {
+            Node oldChild = (Node) parent.array[subIndex];
+            child = oldChild != null ? pushTail(level - BITS, oldChild, tailNode) : newPath(null, level - BITS, tailNode);
+        }
+        node.array[subIndex] = child;
+        return node;
+    }
+
+    /**
+     * 替换叶子中的元素，从根到叶子的节点都复制一份
+     * @param level 当前节点所在层的位移
+     * @param node 当前节点
+     * @param index 元素的索引
+     * @param e 新元素
+     * @return 复制后的当前节点
+     */
+    private static Node updatePath(int level, Node node, int index, Object e) {
+        Node newNode = new Node(null, node.array.clone());
+        if (level == 0) {
+            newNode.array[index & MASK] = e;
+        } else {
+            int subIndex = (index >>> level) & MASK;
+            newNode.array[subIndex] = updatePath(level - BITS, (Node) node.array[subIndex], index, e);
+        }
+        return newNode;
+    }
+
+    /**
+     * 摘除树上最后一个叶子，沿途的节点都复制一份
+     * @param level 当前节点所在层的位移
+     * @param node 当前节点
+     * @return 复制后的当前节点，节点变空时返回null
+     */
+    private Node popTail(int level, Node node) {
+        int subIndex = ((size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Node newChild = popTail(level - BITS, (Node) node.array[subIndex]);
+            if (newChild == null && subIndex == 0) return null;
+            Node newNode = new Node(null, node.array.clone());
+            newNode.array[subIndex] = newChild;
+            return newNode;
+        }
+        if (subIndex == 0) return null;
+        Node newNode = new Node(null, node.array.clone());
+        newNode.array[subIndex] = null;
+        return newNode;
+    }
+
+    /**
+     * 创建一条只有最左侧分支的路径，末端是指定的节点
+     * @param edit 所属构建器的标记
+     * @param level 路径起点所在层的位移
+     * @param node 末端节点
+     * @return 路径的起点
+     */
+    private static Node newPath(Object edit, int level, Node node) {
+        if (level == 0) return node;
+        Node path = new Node(edit);
+        path.array[0] = newPath(edit, level - BITS, node);
+        return path;
+    }
+
+    /**
+     * 获取指定索引所在的叶子数组
+     * @return 叶子数组，索引在尾部时返回尾部数组
+     */
+    private static Object[] arrayFor(int index, int size, int shift, Node root, Object[] tail) {
+        if (index >= tailOffset(size)) return tail;
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(index >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    /**
+     * 获取尾部数组中第一个元素的索引
+     * @param size 元素数量
+     * @return 尾部数组的起始索引
+     */
+    private static int tailOffset(int size) {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private static void rangeCheck(int index, int size) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("索引越界，索引：" + index + "，数量：" + size);
+    }
+
+    private static UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("不可变集合不支持修改，请使用append、update、removeLast或构建器生成新集合！");
+    }
+
+    @Override
+    public void add(E e) {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean remove(E e) {
+        throw unsupported();
+    }
+
+    @Override
+    public void clear() {
+        throw unsupported();
+    }
+
+    @Override
+    public E set(int index, E e) {
+        throw unsupported();
+    }
+
+    @Override
+    public void add(int index, E e) {
+        throw unsupported();
+    }
+
+    @Override
+    public E remove(int index) {
+        throw unsupported();
+    }
+
+    @Override
+    public void addAll(int index, ILightList<? extends E> list) {
+        throw unsupported();
+    }
+
+    @Override
+    public void addAll(int index, E[] elements) {
+        throw unsupported();
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        throw unsupported();
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<E> operator) {
+        throw unsupported();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        Iterator<E> iterator = iterator();
+        while (iterator.hasNext()) {
+            sb.append(iterator.next());
+            if (iterator.hasNext()) sb.append(",");
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    /**
+     * 构建器
+     * <br/>创建时只复制根节点和尾部数组，修改时第一次经过的共享节点才会被复制并标记为构建器独占，之后原地修改
+     * <br/>调用 {@link #build()} 生成集合后构建器失效，不能再继续使用
+     * @param <E> 所存储元素的类型
+     */
+    public static class Builder<E> {
+        /**
+         * 构建器标记，生成集合后置为null
+         */
+        private Object edit;
+
+        /**
+         * 元素数量
+         */
+        private int size;
+
+        /**
+         * 根节点所在层对应的索引位移
+         */
+        private int shift;
+
+        /**
+         * 前缀树的根节点
+         */
+        private Node root;
+
+        /**
+         * 尾部数组，长度固定为32
+         */
+        private Object[] tail;
+
+        private Builder(LightPersistentVector<E> vector) {
+            this.edit = new Object();
+            this.size = vector.size;
+            this.shift = vector.shift;
+            this.root = new Node(edit, vector.root.array.clone());
+            this.tail = Arrays.copyOf(vector.tail, WIDTH);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public E get(int index) {
+            ensureValid();
+            rangeCheck(index, size);
+            return (E) arrayFor(index, size, shift, root, tail)[index & MASK];
+        }
+
+        /**
+         * 在尾部添加元素
+         * @param e 新元素
+         * @return 当前构建器
+         */
+        public Builder<E> add(E e) {
+            ensureValid();
+            if (size - tailOffset(size) < WIDTH) {
+                tail[size & MASK] = e;
+                size++;
+                return this;
+            }
+
+            Node tailNode = new Node(edit, tail);
+            tail = new Object[WIDTH];
+            tail[0] = e;
+            if ((size >>> BITS) > (1 << shift)) {
+                Node newRoot = new Node(edit);
+                newRoot.array[0] = root;
+                newRoot.array[1] = newPath(edit, shift, tailNode);
+                root = newRoot;
+                shift += BITS;
+            } else {
+                root = pushTail(shift, root, tailNode);
+            }
+            size++;
+            return this;
+        }
+
+        /**
+         * 替换指定索引上的元素
+         * @param index 索引
+         * @param e 新元素
+         * @return 当前构建器
+         */
+        public Builder<E> set(int index, E e) {
+            ensureValid();
+            rangeCheck(index, size);
+            if (index >= tailOffset(size)) {
+                tail[index & MASK] = e;
+            } else {
+                root = updatePath(shift, root, index, e);
+            }
+            return this;
+        }
+
+        /**
+         * 删除最后一个元素
+         * @return 当前构建器
+         */
+        public Builder<E> removeLast() {
+            ensureValid();
+            if (size == 0) throw new NoSuchElementException("集合为空！");
+            int last = size - 1;
+            if (size == 1 || (last & MASK) > 0) {
+                tail[last & MASK] = null;
+                size--;
+                return this;
+            }
+
+            Object[] newTail = Arrays.copyOf(arrayFor(size - 2, size, shift, root, tail), WIDTH);
+            Node newRoot = popTail(shift, root);
+            if (newRoot == null) newRoot = new Node(edit);
+            if (shift > BITS && newRoot.array[1] == null) {
+                newRoot = ensureEditable((Node) newRoot.array[0]);
+                shift -= BITS;
+            }
+            root = newRoot;
+            tail = newTail;
+            size--;
+            return this;
+        }
+
+        /**
+         * 生成集合，之后构建器失效
+         * @return 新集合
+         */
+        public LightPersistentVector<E> build() {
+            ensureValid();
+            // 之后再有构建器修改这些节点时，因为标记不同，都会先复制
+            edit = null;
+            if (size == 0) return empty();
+            Object[] trimmedTail = Arrays.copyOf(tail, size - tailOffset(size));
+            return new LightPersistentVector<>(size, shift, root, trimmedTail);
+        }
+
+        private Node pushTail(int level, Node parent, Node tailNode) {
+            Node node = ensureEditable(parent);
+            int subIndex = ((size - 1) >>> level) & MASK;
+            Node child;
+            if (level == BITS) {
+                child = tailNode;
+            } else {
+                Node oldChild = (Node) node.array[subIndex];
+                child = oldChild != null ? pushTail(level - BITS, oldChild, tailNode) : newPath(edit, level - BITS, tailNode);
+            }
+            node.array[subIndex] = child;
+            return node;
+        }
+
+        private Node updatePath(int level, Node node, int index, Object e) {
+            Node editable = ensureEditable(node);
+            if (level == 0) {
+                editable.array[index & MASK] = e;
+            } else {
+                int subIndex = (index >>> level) & MASK;
+                editable.array[subIndex] = updatePath(level - BITS, (Node) editable.array[subIndex], index, e);
+            }
+            return editable;
+        }
+
+        private Node popTail(int level, Node node) {
+            Node editable = ensureEditable(node);
+            int subIndex = ((size - 2) >>> level) & MASK;
+            if (level > BITS) {
+                Node newChild = popTail(level - BITS, (Node) editable.array[subIndex]);
+                if (newChild == null && subIndex == 0) return null;
+                editable.array[subIndex] = newChild;
+                return editable;
+            }
+            if (subIndex == 0) return null;
+            editable.array[subIndex] = null;
+            return editable;
+        }
+
+        /**
+         * 获取可以原地修改的节点，节点不属于当前构建器时复制一份
+         * @param node 节点
+         * @return 当前构建器独占的节点
+         */
+        private Node ensureEditable(Node node) {
+            if (node.edit == edit) return node;
+            return new Node(edit, node.array.clone());
+        }
+
+        private void ensureValid() {
+            if (edit == null) throw new IllegalStateException("构建器已经生成过集合，不能再使用！");
+        }
+    }
+}
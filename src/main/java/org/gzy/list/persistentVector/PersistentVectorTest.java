@@ -0,0 +1,41 @@
+package org.gzy.list.persistentVector;
+
+import org.gzy.list.ILightList;
+import org.gzy.list.arrayList.LightArrayList;
+
+/**
+ * @author GaoZiYang
+ * @since 2021年09月24日 10:31:56
+ */
+public class PersistentVectorTest {
+    public static void main(String[] args) {
+        LightPersistentVector<Integer> v1 = LightPersistentVector.of(1, 2, 3);
+        LightPersistentVector<Integer> v2 = v1.append(4).update(0, 0);
+        LightPersistentVector<Integer> v3 = v2.removeLast().removeLast();
+        // 旧版本不受新版本的影响
+        System.out.println(v1 + " " + v2 + " " + v3);
+
+        // 批量修改使用构建器
+        LightPersistentVector.Builder<Integer> builder = LightPersistentVector.builder();
+        for (int i = 0; i < 1000000; i++) {
+            builder.add(i);
+        }
+        LightPersistentVector<Integer> big = builder.build();
+        LightPersistentVector<Integer> changed = big.update(500000, -1);
+        System.out.println(big.get(500000) + " " + changed.get(500000) + " " + changed.size());
+
+        // 从普通集合生成快照
+        ILightList<String> list = new LightArrayList<>();
+        list.add("a");
+        list.add("b");
+        LightPersistentVector<String> snapshot = LightPersistentVector.copyOf(list);
+        list.add("c");
+        System.out.println(snapshot + " " + list);
+
+        try {
+            snapshot.add("d");
+        } catch (UnsupportedOperationException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package org.gzy.list.unrolledLinkedList;
+
+import org.gzy.list.AbstractLightList;
+import org.gzy.list.ILightList;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * 展开链表
+ * <br/>每个节点存放一个小数组，最多存放 {@link #NODE_CAPACITY} 个元素：
+ * <br/>1. 查找索引时按节点跳跃，比双向链表少走几十倍的节点；
+ * <br/>2. 遍历时大部分时间在连续的数组中移动，缓存命中率接近动态数组；
+ * <br/>3. 插入和删除只需要移动一个节点内的元素，节点满了就一分为二，节点过空就和后一个节点合并。
+ * @author GaoZiYang
+ * @since 2021年09月23日 10:12:48
+ */
+@SuppressWarnings("unchecked")
+public class LightUnrolledLinkedList<E> extends AbstractLightList<E> implements ILightList<E>, Cloneable, Serializable {
+    /**
+     * 头节点
+     */
+    private Node<E> head;
+
+    /**
+     * 尾节点
+     */
+    private Node<E> tail;
+
+    /**
+     * 最近一次调用 {@link #node(int)} 时，元素在节点数组中的位置
+     */
+    private int nodeOffset;
+
+    /**
+     * 每个节点最多存放的元素数量
+     */
+    private static final int NODE_CAPACITY = 64;
+
+    /**
+     * 节点中的元素少于该数量时，尝试和后一个节点合并
+     */
+    private static final int MERGE_THRESHOLD = NODE_CAPACITY >> 2;
+
+    /**
+     * 节点
+     * @param <E> 所存储元素的类型
+     */
+    private static class Node<E> {
+        /**
+         * 节点中的元素，[0, count)区间内有效
+         */
+        private final Object[] elements = new Object[NODE_CAPACITY];
+
+        /**
+         * 节点中的元素数量
+         */
+        private int count;
+
+        /**
+         * 关联的上一个节点
+         */
+        private Node<E> prev;
+
+        /**
+         * 关联的下一个节点
+         */
+        private Node<E> next;
+    }
+
+    /**
+     * 根据索引获取元素所在的节点，元素在节点中的位置保存在 {@link #nodeOffset} 中
+     * @param index 元素的索引
+     * @return 元素所在的节点
+     */
+    private Node<E> node(int index) {
+        Node<E> node;
+        if (index < (size >> 1)) {
+            node = head;
+            while (index >= node.count) {
+                index -= node.count;
+                node = node.next;
+            }
+        } else {
+            // 从尾部开始查找，先换算成距离尾部的元素数量
+            node = tail;
+            int remaining = size - index;
+            while (remaining > node.count) {
+                remaining -= node.count;
+                node = node.prev;
+            }
+            index = node.count - remaining;
+        }
+        nodeOffset = index;
+        return node;
+    }
+
+    /**
+     * 迭代器
+     */
+    private class LightUnrolledLinkedListIterator implements Iterator<E> {
+        /**
+         * 下一个元素的索引
+         */
+        private int cursor;
+
+        /**
+         * 下一个元素所在的节点
+         */
+        private Node<E> node = head;
+
+        /**
+         * 下一个元素在节点中的位置
+         */
+        private int offset;
+
+        /**
+         * 最近一次返回的元素的索引，没有可以删除的元素时为-1
+         */
+        private int lastRet = -1;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public E next() {
+            if (cursor >= size) throw new NoSuchElementException();
+            // 当前节点已经遍历完，跳到下一个节点
+            while (offset >= node.count) {
+                node = node.next;
+                offset = 0;
+            }
+            lastRet = cursor++;
+            return (E) node.elements[offset++];
+        }
+
+        @Override
+        public void remove() {
+            if (lastRet < 0) throw new IllegalStateException();
+            LightUnrolledLinkedList.this.remove(lastRet);
+            cursor = lastRet;
+            lastRet = -1;
+            // 删除后节点可能被合并，重新定位下一个元素
+            if (cursor < size) {
+                node = node(cursor);
+                offset = nodeOffset;
+            }
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new LightUnrolledLinkedListIterator();
+    }
+
+    @Override
+    public E get(int index) {
+        rangeCheck(index);
+        Node<E> node = node(index);
+        return (E) node.elements[nodeOffset];
+    }
+
+    @Override
+    public E set(int index, E e) {
+        rangeCheck(index);
+        Node<E> node = node(index);
+        E oldElement = (E) node.elements[nodeOffset];
+        node.elements[nodeOffset] = e;
+        return oldElement;
+    }
+
+    @Override
+    public void add(int index, E e) {
+        rangeCheckForAdd(index);
+        if (index == size) {
+            // 在尾部添加，尾节点满了就追加一个新节点
+            if (tail == null || tail.count == NODE_CAPACITY) linkAfter(tail, new Node<>());
+            tail.elements[tail.count++] = e;
+        } else {
+            Node<E> node = node(index);
+            insert(node, nodeOffset, e);
+        }
+        size++;
+    }
+
+    @Override
+    public E remove(int index) {
+        rangeCheck(index);
+        Node<E> node = node(index);
+        int offset = nodeOffset;
+        E oldElement = (E) node.elements[offset];
+        int moved = node.count - offset - 1;
+        if (moved > 0) System.arraycopy(node.elements, offset + 1, node.elements, offset, moved);
+        node.elements[--node.count] = null;
+        size--;
+        rebalance(node);
+        return oldElement;
+    }
+
+    @Override
+    public int indexOf(E e) {
+        int index = 0;
+        for (Node<E> node = head; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                if (e == null ? node.elements[i] == null : e.equals(node.elements[i])) return index + i;
+            }
+            index += node.count;
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(E e) {
+        int index = size;
+        for (Node<E> node = tail; node != null; node = node.prev) {
+            index -= node.count;
+            for (int i = node.count - 1; i >= 0; i--) {
+                if (e == null ? node.elements[i] == null : e.equals(node.elements[i])) return index + i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+    }
+
+    /**
+     * 在每个节点内部一次遍历完成移除，移除后变空的节点直接摘除，
+     * 过空的节点合并到前一个保留下来的节点中，避免留下大量只有几个元素的节点
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        if (filter == null) throw new IllegalArgumentException("移除条件不能为空！");
+        int oldSize = size;
+        Node<E> node = head;
+        // 上一个保留下来的节点
+        Node<E> prev = null;
+        while (node != null) {
+            Node<E> next = node.next;
+            int write = 0;
+            int read = 0;
+            try {
+                for (; read < node.count; read++) {
+                    Object e = node.elements[read];
+                    if (!filter.test((E) e)) node.elements[write++] = e;
+                }
+            } finally {
+                // 条件抛出异常时，保留还没有判断的元素
+                int rest = node.count - read;
+                if (rest > 0) {
+                    System.arraycopy(node.elements, read, node.elements, write, rest);
+                    write += rest;
+                }
+                for (int i = write; i < node.count; i++) {
+                    node.elements[i] = null;
+                }
+                size -= node.count - write;
+                node.count = write;
+                if (write == 0) unlink(node);
+            }
+            if (write > 0) {
+                if (prev != null && (prev.count < MERGE_THRESHOLD || write < MERGE_THRESHOLD)
+                        && prev.count + write <= NODE_CAPACITY) {
+                    System.arraycopy(node.elements, 0, prev.elements, prev.count, write);
+                    prev.count += write;
+                    unlink(node);
+                } else {
+                    prev = node;
+                }
+            }
+            node = next;
+        }
+        return size != oldSize;
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<E> operator) {
+        if (operator == null) throw new IllegalArgumentException("替换操作不能为空！");
+        for (Node<E> node = head; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                node.elements[i] = operator.apply((E) node.elements[i]);
+            }
+        }
+    }
+
+    @Override
+    protected Object[] toArray() {
+        Object[] array = new Object[size];
+        int index = 0;
+        for (Node<E> node = head; node != null; node = node.next) {
+            System.arraycopy(node.elements, 0, array, index, node.count);
+            index += node.count;
+        }
+        return array;
+    }
+
+    /**
+     * 在节点的指定位置插入元素，节点满了先一分为二
+     * @param node 节点
+     * @param offset 插入位置
+     * @param e 新元素
+     */
+    private void insert(Node<E> node, int offset, E e) {
+        if (node.count == NODE_CAPACITY) {
+            // 后一半元素移动到新节点
+            Node<E> newNode = new Node<>();
+            int half = NODE_CAPACITY >> 1;
+            System.arraycopy(node.elements, half, newNode.elements, 0, NODE_CAPACITY - half);
+            for (int i = half; i < NODE_CAPACITY; i++) {
+                node.elements[i] = null;
+            }
+            newNode.count = NODE_CAPACITY - half;
+            node.count = half;
+            linkAfter(node, newNode);
+            if (offset > half) {
+                node = newNode;
+                offset -= half;
+            }
+        }
+        System.arraycopy(node.elements, offset, node.elements, offset + 1, node.count - offset);
+        node.elements[offset] = e;
+        node.count++;
+    }
+
+    /**
+     * 删除元素后调整节点：节点为空就摘除，节点过空就尝试和后一个节点合并
+     * @param node 刚删除了元素的节点
+     */
+    private void rebalance(Node<E> node) {
+        if (node.count == 0) {
+            unlink(node);
+            return;
+        }
+        if (node.count >= MERGE_THRESHOLD) return;
+
+        Node<E> next = node.next;
+        if (next != null && node.count + next.count <= NODE_CAPACITY) {
+            System.arraycopy(next.elements, 0, node.elements, node.count, next.count);
+            node.count += next.count;
+            unlink(next);
+        }
+    }
+
+    /**
+     * 在指定节点后面链接新节点
+     * @param node 指定节点，为null时表示链表为空
+     * @param newNode 新节点
+     */
+    private void linkAfter(Node<E> node, Node<E> newNode) {
+        newNode.prev = node;
+        if (node == null) {
+            head = newNode;
+            tail = newNode;
+            return;
+        }
+        newNode.next = node.next;
+        if (node.next == null) {
+            tail = newNode;
+        } else {
+            node.next.prev = newNode;
+        }
+        node.next = newNode;
+    }
+
+    /**
+     * 将节点从链表中摘除
+     * @param node 要摘除的节点
+     */
+    private void unlink(Node<E> node) {
+        Node<E> prevNode = node.prev;
+        Node<E> nextNode = node.next;
+        if (prevNode == null) {
+            head = nextNode;
+        } else {
+            prevNode.next = nextNode;
+        }
+        if (nextNode == null) {
+            tail = prevNode;
+        } else {
+            nextNode.prev = prevNode;
+        }
+    }
+
+    @Override
+    protected Object clone() throws CloneNotSupportedException {
+        return super.clone();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        int i = 0;
+        for (Node<E> node = head; node != null; node = node.next) {
+            for (int j = 0; j < node.count; j++) {
+                if (i++ != 0) sb.append(",");
+                sb.append(node.elements[j]);
+            }
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,53 @@
+package org.gzy.list.unrolledLinkedList;
+
+import org.gzy.list.ILightList;
+
+import java.util.Iterator;
+
+/**
+ * @author GaoZiYang
+ * @since 2021年09月23日 11:05:17
+ */
+public class UnrolledLinkedListTest {
+    public static void main(String[] args) {
+        ILightList<Integer> list = new LightUnrolledLinkedList<>();
+        for (int i = 0; i < 200; i++) {
+            list.add(i);
+        }
+        // 在中间插入，节点满了会一分为二
+        list.add(100, -1);
+        System.out.println(list.get(100) + " " + list.get(101) + " " + list.size());
+        // 删除偶数，每个节点还剩一半左右的元素，不会触发合并
+        list.removeIf(e -> e % 2 == 0);
+        System.out.println(list.size() + " " + list.indexOf(-1) + " " + list.lastIndexOf(199));
+        for (int i = 0; i < 90; i++) {
+            list.remove(0);
+        }
+        System.out.println(list);
+
+        // 只保留64的倍数，每个节点只剩一个元素，过空的节点合并到前一个节点中
+        list = new LightUnrolledLinkedList<>();
+        for (int i = 0; i < 64000; i++) {
+            list.add(i);
+        }
+        list.removeIf(e -> e % 64 != 0);
+        Iterator<Integer> iterator = list.iterator();
+        for (int i = 0; i < 1000; i++) {
+            if (iterator.next() != i * 64) throw new IllegalStateException("测试失败：第" + i + "个元素");
+        }
+        System.out.println(list.size() + " " + list.get(999) + " " + list.indexOf(32000));
+
+        // 迭代器每次调用next以后只能删除一次
+        iterator = list.iterator();
+        iterator.next();
+        iterator.remove();
+        boolean thrown = false;
+        try {
+            iterator.remove();
+        } catch (IllegalStateException e) {
+            thrown = true;
+        }
+        if (!thrown) throw new IllegalStateException("测试失败：连续调用remove没有抛出异常");
+        System.out.println(list.size() + " " + list.get(0));
+    }
+}
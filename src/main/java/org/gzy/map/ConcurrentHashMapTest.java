@@ -0,0 +1,81 @@
+package org.gzy.map;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author GaoZiYang
+ * @since 2021年09月16日 16:52:08
+ */
+public class ConcurrentHashMapTest {
+    private static final int THREADS = 8;
+    private static final int KEYS_PER_THREAD = 200_000;
+    private static final int SHARED_KEYS = 1000;
+
+    public static void main(String[] args) throws InterruptedException {
+        // 初始容量很小，写入过程中会多次扩容，各个线程都会参与迁移
+        LightConcurrentHashMap<Integer, Integer> map = new LightConcurrentHashMap<>(16, 4);
+        List<Map<Integer, Integer>> expected = new ArrayList<>();
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(THREADS);
+
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            Map<Integer, Integer> reference = new HashMap<>();
+            expected.add(reference);
+            new Thread(() -> {
+                try {
+                    int base = thread * KEYS_PER_THREAD;
+                    for (int i = 0; i < KEYS_PER_THREAD; i++) {
+                        int key = base + i;
+                        map.put(key, i);
+                        reference.put(key, i);
+                        // 自己刚写入的键，无论扩容进行到哪一步都必须能读到
+                        if (!Integer.valueOf(i).equals(map.get(key))) errors.incrementAndGet();
+                        if (i % 3 == 0) {
+                            // 删除稍早写入的键，可能正好落在迁移中的桶上
+                            int removed = base + i / 2;
+                            if (!reference.get(removed).equals(map.remove(removed))) errors.incrementAndGet();
+                            reference.remove(removed);
+                            reference.put(removed, -i);
+                            map.put(removed, -i);
+                        }
+                        // 所有线程都会写入相同的共享键，值只和键有关
+                        int shared = -1 - i % SHARED_KEYS;
+                        map.put(shared, shared);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+        System.out.println("并发写入耗时：" + (System.nanoTime() - start) / 1_000_000 + "ms");
+
+        Map<Integer, Integer> all = new HashMap<>();
+        for (Map<Integer, Integer> reference : expected) {
+            all.putAll(reference);
+        }
+        for (int i = 0; i < SHARED_KEYS; i++) {
+            all.put(-1 - i, -1 - i);
+        }
+        all.forEach((k, v) -> {
+            if (!v.equals(map.get(k))) errors.incrementAndGet();
+        });
+        AtomicInteger traversed = new AtomicInteger();
+        map.traversal((k, v) -> {
+            traversed.incrementAndGet();
+            if (!v.equals(all.get(k))) errors.incrementAndGet();
+        });
+
+        System.out.println("元素数量：" + map.size() + "，期望：" + all.size() + "，遍历到：" + traversed.get());
+        if (errors.get() != 0 || map.size() != all.size() || traversed.get() != all.size()) {
+            throw new IllegalStateException("结果不一致，错误数：" + errors.get());
+        }
+    }
+}
@@ -0,0 +1,1009 @@
+package org.gzy.map;
+
+import com.sun.istack.internal.Nullable;
+import org.gzy.list.arrayList.LightArrayList;
+import org.gzy.queue.ILightQueue;
+import org.gzy.queue.queue.LightQueue;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+
+/**
+ * 线程安全的哈希映射
+ * <br/>与 {@link org.gzy.map.LightHashMap} 一样，每个哈希桶都是一棵红黑树，区别在于：
+ * <br/>1.哈希桶按照哈希值的低位划分到若干个锁分段中，写操作只锁住元素所在的分段。
+ * <br/>2.读操作先使用乐观读，只有在读取期间该分段发生了写操作时才会退化为加读锁。
+ * <br/>3.扩容时以哈希桶为单位迁移，已迁移的桶会放置一个转发节点，任何遇到转发节点的写线程都会参与迁移。
+ * <br/>不允许null键
+ * @author GaoZiYang
+ * @since 2021年09月16日 09:41:27
+ */
+@SuppressWarnings("unchecked")
+public class LightConcurrentHashMap<K, V> implements ILightMap<K, V> {
+    /**
+     * 哈希桶数组，每个桶存放红黑树的根节点
+     */
+    private volatile AtomicReferenceArray<Node<K, V>> table;
+    /**
+     * 正在进行的扩容任务，为null表示当前没有扩容
+     */
+    private final AtomicReference<Transfer<K, V>> transfer = new AtomicReference<>();
+    /**
+     * 分段锁，哈希值低位相同的桶共用一把锁
+     * <br/>因为哈希桶数组的长度始终不小于锁的数量，所以扩容前后同一个元素始终由同一把锁保护
+     */
+    private final StampedLock[] locks;
+    /**
+     * 元素个数
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * 默认容量
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+    /**
+     * 默认并发级别，即锁分段的数量
+     */
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+    /**
+     * 最大容量
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    /**
+     * 乐观读时最多向下查找的层数，红黑树的高度不会超过该值，超过说明读到了正在变化的树
+     */
+    private static final int MAX_OPTIMISTIC_STEPS = 64;
+    /**
+     * 扩容时每个线程每次认领的哈希桶数量
+     */
+    private static final int TRANSFER_STRIDE = 16;
+    /**
+     * 乐观读无法确定结果时的返回值
+     */
+    private static final Node<?, ?> RETRY = new Node<>(null, null, 0, null);
+    /**
+     * 键不存在时的查找结果
+     */
+    private static final Object NOT_FOUND = new Object();
+
+    public LightConcurrentHashMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    public LightConcurrentHashMap(int capacity) {
+        this(capacity, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    public LightConcurrentHashMap(int capacity, int concurrencyLevel) {
+        int stripes = tableSizeFor(concurrencyLevel <= 0 ? DEFAULT_CONCURRENCY_LEVEL : concurrencyLevel);
+        locks = new StampedLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new StampedLock();
+        }
+        table = new AtomicReferenceArray<>(tableSizeFor(Math.max(capacity, stripes)));
+    }
+
+    @Override
+    public int size() {
+        long sum = count.sum();
+        return sum < 0 ? 0 : sum > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) sum;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return count.sum() <= 0;
+    }
+
+    @Override
+    public void clear() {
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        for (int i = 0; i < tab.length(); i++) {
+            clearBucket(tab, i);
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        checkKeyNotNull(key);
+
+        int h = hash(key);
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while (true) {
+            int index = h & (tab.length() - 1);
+            StampedLock lock = lockFor(h);
+            ForwardingNode<K, V> forward = null;
+            Node<K, V> existing = null;
+            V origin = null;
+            long stamp = lock.writeLock();
+            try {
+                Node<K, V> root = tab.get(index);
+                if (root instanceof ForwardingNode) {
+                    forward = (ForwardingNode<K, V>) root;
+                } else if ((existing = insert(tab, index, h, key, value)) != null) {
+                    // 相等直接替换并返回原有值
+                    origin = existing.value;
+                    existing.key = key;
+                    existing.value = value;
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+
+            if (forward != null) {
+                // 该桶已经迁移到新数组中，先协助扩容再到新数组中重试
+                helpTransfer(tab);
+                tab = forward.nextTable;
+                continue;
+            }
+            if (existing != null) return origin;
+
+            count.increment();
+            resizeIfNeeded();
+            return null;
+        }
+    }
+
+    @Override
+    public V get(K key) {
+        Object value = lookup(key);
+        return value == NOT_FOUND ? null : (V) value;
+    }
+
+    @Override
+    public V remove(K key) {
+        checkKeyNotNull(key);
+
+        int h = hash(key);
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while (true) {
+            int index = h & (tab.length() - 1);
+            StampedLock lock = lockFor(h);
+            ForwardingNode<K, V> forward = null;
+            Node<K, V> node = null;
+            V origin = null;
+            long stamp = lock.writeLock();
+            try {
+                Node<K, V> root = tab.get(index);
+                if (root instanceof ForwardingNode) {
+                    forward = (ForwardingNode<K, V>) root;
+                } else if ((node = find(root, h, key)) != null) {
+                    origin = node.value;
+                    delete(tab, node);
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+
+            if (forward != null) {
+                helpTransfer(tab);
+                tab = forward.nextTable;
+                continue;
+            }
+            if (node != null) count.decrement();
+            return origin;
+        }
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return lookup(key) != NOT_FOUND;
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        return forEachEntry((k, v) -> Objects.equals(v, value));
+    }
+
+    /**
+     * 遍历所有元素
+     * <br/>遍历是弱一致的：每个哈希桶在读锁内生成快照，遍历期间其他线程的修改可能可见也可能不可见
+     * @param consumer 遍历每个元素时的操作
+     */
+    public void traversal(@Nullable BiConsumer<K, V> consumer) {
+        if (consumer == null) return;
+
+        forEachEntry((k, v) -> {
+            consumer.accept(k, v);
+            return false;
+        });
+    }
+
+    /**
+     * 根据键查找元素值
+     * @param key 元素的键
+     * @return 元素的值，如果不存在则返回 {@link #NOT_FOUND}
+     */
+    private Object lookup(K key) {
+        checkKeyNotNull(key);
+
+        int h = hash(key);
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while (true) {
+            int index = h & (tab.length() - 1);
+            StampedLock lock = lockFor(h);
+
+            // 先尝试乐观读，期间只要该分段没有发生写操作，读到的结果就是一致的
+            long stamp = lock.tryOptimisticRead();
+            Node<K, V> root = tab.get(index);
+            if (root instanceof ForwardingNode) {
+                tab = ((ForwardingNode<K, V>) root).nextTable;
+                continue;
+            }
+            if (stamp != 0) {
+                Node<K, V> node = findOptimistic(root, h, key);
+                if (node != RETRY) {
+                    Object value = node == null ? NOT_FOUND : node.value;
+                    if (lock.validate(stamp)) return value;
+                }
+            }
+
+            // 乐观读失败，加读锁重新查找
+            ForwardingNode<K, V> forward = null;
+            stamp = lock.readLock();
+            try {
+                root = tab.get(index);
+                if (root instanceof ForwardingNode) {
+                    forward = (ForwardingNode<K, V>) root;
+                } else {
+                    Node<K, V> node = find(root, h, key);
+                    return node == null ? NOT_FOUND : node.value;
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+            tab = forward.nextTable;
+        }
+    }
+
+    /**
+     * 在乐观读期间查找节点
+     * <br/>只沿着确定的方向向下查找，遇到哈希值相等且无法比较的键，或者查找层数异常时放弃，交给加锁查找处理
+     * @param node 红黑树的根节点
+     * @param h 键的哈希值
+     * @param key 元素的键
+     * @return 找到的节点，不存在时返回null，无法确定时返回 {@link #RETRY}
+     */
+    private Node<K, V> findOptimistic(Node<K, V> node, int h, K key) {
+        for (int steps = 0; node != null; steps++) {
+            if (steps > MAX_OPTIMISTIC_STEPS) return (Node<K, V>) RETRY;
+
+            K k2 = node.key;
+            int h2 = node.hash;
+            int cmp;
+            if (h > h2) {
+                node = node.right;
+            } else if (h < h2) {
+                node = node.left;
+            } else if (key.equals(k2)) {
+                return node;
+            } else if ((cmp = compareComparables(key, k2)) != 0) {
+                node = cmp > 0 ? node.right : node.left;
+            } else {
+                return (Node<K, V>) RETRY;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 在持有锁的情况下查找节点
+     * @param node 开始查找的节点
+     * @param h 键的哈希值
+     * @param key 元素的键
+     * @return 元素节点
+     */
+    private Node<K, V> find(Node<K, V> node, int h, K key) {
+        Node<K, V> result;
+        int cmp;
+        while (node != null) {
+            K k2 = node.key;
+            int h2 = node.hash;
+            if (h > h2) {
+                node = node.right;
+            } else if (h < h2) {
+                node = node.left;
+            } else if (Objects.equals(key, k2)) {
+                return node;
+            } else if ((cmp = compareComparables(key, k2)) != 0) {
+                node = cmp > 0 ? node.right : node.left;
+            } else if (node.left != null && (result = find(node.left, h, key)) != null) {
+                // 哈希值相等并且不具备可比较性，所以只能扫描左右子树
+                return result;
+            } else {
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 将元素插入到哈希桶的红黑树中，调用方必须持有该桶的写锁
+     * @param tab 哈希桶数组
+     * @param index 哈希桶索引
+     * @param h 键的哈希值
+     * @param key 元素的键
+     * @param value 元素的值
+     * @return 如果键已存在则返回已存在的节点，否则返回null
+     */
+    private Node<K, V> insert(AtomicReferenceArray<Node<K, V>> tab, int index, int h, K key, V value) {
+        Node<K, V> root = tab.get(index);
+        if (root == null) {
+            root = new Node<>(key, value, h, null);
+            tab.set(index, root);
+            fixAfterPut(tab, root);
+            return null;
+        }
+
+        Node<K, V> node = root;
+        Node<K, V> parent;
+        int cmp;
+        boolean isSearched = false;
+        do {
+            parent = node;
+            Node<K, V> result;
+            K k2 = node.key;
+            int h2 = node.hash;
+            if (h > h2) {
+                cmp = 1;
+            } else if (h < h2) {
+                cmp = -1;
+            } else if (Objects.equals(key, k2)) {
+                return node;
+            } else if ((cmp = compareComparables(key, k2)) != 0) {
+                // 可以比较出大小，直接使用比较结果
+            } else if (!isSearched) {
+                if (node.left != null && (result = find(node.left, h, key)) != null
+                        || node.right != null && (result = find(node.right, h, key)) != null) {
+                    return result;
+                }
+                isSearched = true;
+                cmp = tieBreak(key, k2);
+            } else {
+                cmp = tieBreak(key, k2);
+            }
+            node = cmp > 0 ? node.right : node.left;
+        } while (node != null);
+
+        Node<K, V> newNode = new Node<>(key, value, h, parent);
+        if (cmp > 0) {
+            parent.right = newNode;
+        } else {
+            parent.left = newNode;
+        }
+        fixAfterPut(tab, newNode);
+        return null;
+    }
+
+    /**
+     * 从哈希桶的红黑树中删除节点，调用方必须持有该桶的写锁
+     * @param tab 哈希桶数组
+     * @param node 要删除的节点
+     */
+    private void delete(AtomicReferenceArray<Node<K, V>> tab, Node<K, V> node) {
+        // 节点的度为2
+        if (node.left != null && node.right != null) {
+            Node<K, V> successor = successor(node);
+            node.key = successor.key;
+            node.value = successor.value;
+            node.hash = successor.hash;
+            node = successor;
+        }
+
+        // 节点的度为1或0
+        Node<K, V> replacement = node.left != null ? node.left : node.right;
+        int index = node.hash & (tab.length() - 1);
+        if (replacement != null) {
+            replacement.parent = node.parent;
+            if (node.isLeftChild()) {
+                node.parent.left = replacement;
+            } else if (node.isRightChild()) {
+                node.parent.right = replacement;
+            } else {
+                tab.set(index, replacement);
+            }
+
+            fixAfterRemove(tab, replacement);
+        } else if (node.parent == null) {
+            tab.set(index, null);
+        } else {
+            if (node.isLeftChild()) {
+                node.parent.left = null;
+            } else {
+                node.parent.right = null;
+            }
+
+            fixAfterRemove(tab, node);
+        }
+    }
+
+    /**
+     * 按哈希桶遍历所有元素，每个桶先在读锁内复制出来，再在锁外执行操作，避免操作中修改映射导致死锁
+     * @param action 对每个元素执行的操作，返回true表示提前结束遍历
+     * @return 是否提前结束了遍历
+     */
+    private boolean forEachEntry(BiPredicate<K, V> action) {
+        LightArrayList<K> keys = new LightArrayList<>();
+        LightArrayList<V> values = new LightArrayList<>();
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        for (int i = 0; i < tab.length(); i++) {
+            if (forEachEntry(tab, i, keys, values, action)) return true;
+        }
+        return false;
+    }
+
+    private boolean forEachEntry(AtomicReferenceArray<Node<K, V>> tab, int index,
+                                 LightArrayList<K> keys, LightArrayList<V> values, BiPredicate<K, V> action) {
+        keys.clear();
+        values.clear();
+        ForwardingNode<K, V> forward = null;
+        StampedLock lock = locks[index & (locks.length - 1)];
+        long stamp = lock.readLock();
+        try {
+            Node<K, V> root = tab.get(index);
+            if (root instanceof ForwardingNode) {
+                forward = (ForwardingNode<K, V>) root;
+            } else if (root != null) {
+                ILightQueue<Node<K, V>> queue = new LightQueue<>();
+                queue.offer(root);
+                while (!queue.isEmpty()) {
+                    Node<K, V> node = queue.poll();
+                    keys.add(node.key);
+                    values.add(node.value);
+                    if (node.left != null) queue.offer(node.left);
+                    if (node.right != null) queue.offer(node.right);
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+
+        if (forward != null) {
+            // 已迁移的桶在新数组中被拆分到了index和index + n两个位置上
+            AtomicReferenceArray<Node<K, V>> next = forward.nextTable;
+            return forEachEntry(next, index, keys, values, action)
+                    || forEachEntry(next, index + tab.length(), keys, values, action);
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            if (action.test(keys.get(i), values.get(i))) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 清空一个哈希桶
+     * @param tab 哈希桶数组
+     * @param index 哈希桶索引
+     */
+    private void clearBucket(AtomicReferenceArray<Node<K, V>> tab, int index) {
+        ForwardingNode<K, V> forward = null;
+        int removed = 0;
+        StampedLock lock = locks[index & (locks.length - 1)];
+        long stamp = lock.writeLock();
+        try {
+            Node<K, V> root = tab.get(index);
+            if (root instanceof ForwardingNode) {
+                forward = (ForwardingNode<K, V>) root;
+            } else if (root != null) {
+                ILightQueue<Node<K, V>> queue = new LightQueue<>();
+                queue.offer(root);
+                while (!queue.isEmpty()) {
+                    Node<K, V> node = queue.poll();
+                    removed++;
+                    if (node.left != null) queue.offer(node.left);
+                    if (node.right != null) queue.offer(node.right);
+                }
+                tab.set(index, null);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+
+        if (forward != null) {
+            clearBucket(forward.nextTable, index);
+            clearBucket(forward.nextTable, index + tab.length());
+        }
+        count.add(-removed);
+    }
+
+    /**
+     * 元素数量超过阈值（容量的3/4）时发起扩容，如果已经有扩容在进行则参与其中
+     */
+    private void resizeIfNeeded() {
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        int n = tab.length();
+        if (n >= MAXIMUM_CAPACITY || count.sum() <= n - (n >>> 2)) return;
+
+        Transfer<K, V> t = transfer.get();
+        if (t == null) {
+            t = new Transfer<>(tab, new AtomicReferenceArray<>(n << 1));
+            if (!transfer.compareAndSet(null, t)) {
+                t = transfer.get();
+                if (t == null) return;
+            } else if (table != tab) {
+                // 发起扩容前数组已经被其他线程扩容过了
+                transfer.compareAndSet(t, null);
+                return;
+            }
+        }
+        if (t.oldTable == table) help(t);
+    }
+
+    /**
+     * 如果当前正在扩容指定的数组，则参与扩容
+     * @param tab 遇到转发节点的数组
+     */
+    private void helpTransfer(AtomicReferenceArray<Node<K, V>> tab) {
+        Transfer<K, V> t = transfer.get();
+        if (t != null && t.oldTable == tab) help(t);
+    }
+
+    /**
+     * 参与扩容：不断认领一段尚未迁移的哈希桶进行迁移，直到所有桶都被认领
+     * @param t 扩容任务
+     */
+    private void help(Transfer<K, V> t) {
+        int hi;
+        while ((hi = t.nextIndex.get()) > 0) {
+            int lo = Math.max(0, hi - TRANSFER_STRIDE);
+            if (!t.nextIndex.compareAndSet(hi, lo)) continue;
+
+            for (int i = hi - 1; i >= lo; i--) {
+                transferBucket(t, i);
+            }
+            // 最后一个完成迁移的线程负责切换数组
+            if (t.remaining.addAndGet(lo - hi) == 0) {
+                table = t.newTable;
+                transfer.set(null);
+            }
+        }
+    }
+
+    /**
+     * 将一个哈希桶中的所有节点移动到新数组中，并在原位置放置转发节点
+     * @param t 扩容任务
+     * @param index 哈希桶索引
+     */
+    private void transferBucket(Transfer<K, V> t, int index) {
+        StampedLock lock = locks[index & (locks.length - 1)];
+        long stamp = lock.writeLock();
+        try {
+            Node<K, V> root = t.oldTable.get(index);
+            if (root != null) {
+                ILightQueue<Node<K, V>> queue = new LightQueue<>();
+                queue.offer(root);
+                while (!queue.isEmpty()) {
+                    Node<K, V> node = queue.poll();
+
+                    Node<K, V> left = node.left, right = node.right;
+                    if (left != null) {
+                        queue.offer(left);
+                    }
+                    if (right != null) {
+                        queue.offer(right);
+                    }
+
+                    move(t.newTable, node);
+                }
+            }
+            t.oldTable.set(index, t.forward);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 将节点移动到新数组的对应位置上
+     * @param tab 新的哈希桶数组
+     * @param newNode 要移动的节点
+     */
+    private void move(AtomicReferenceArray<Node<K, V>> tab, Node<K, V> newNode) {
+        newNode.parent = newNode.left = newNode.right = null;
+        newNode.color = Color.RED;
+
+        int index = newNode.hash & (tab.length() - 1);
+        Node<K, V> node = tab.get(index);
+        if (node == null) {
+            tab.set(index, newNode);
+            fixAfterPut(tab, newNode);
+            return;
+        }
+
+        K key = newNode.key;
+        int h = newNode.hash;
+        Node<K, V> parent;
+        int cmp;
+        do {
+            parent = node;
+            K k2 = node.key;
+            int h2 = node.hash;
+            if (h > h2) {
+                cmp = 1;
+            } else if (h < h2) {
+                cmp = -1;
+            } else if ((cmp = compareComparables(key, k2)) == 0) {
+                cmp = tieBreak(key, k2);
+            }
+            node = cmp > 0 ? node.right : node.left;
+        } while (node != null);
+
+        if (cmp > 0) {
+            parent.right = newNode;
+        } else {
+            parent.left = newNode;
+        }
+        newNode.parent = parent;
+
+        fixAfterPut(tab, newNode);
+    }
+
+    /**
+     * 获取后继节点
+     * @return 后继节点
+     */
+    private Node<K, V> successor(Node<K, V> node) {
+        Node<K, V> p = node.right;
+        if (p != null) {
+            while (p.left != null) {
+                p = p.left;
+            }
+            return p;
+        }
+
+        while (node.isRightChild()) {
+            node = node.parent;
+        }
+        return node.parent;
+    }
+
+    /**
+     * 添加后的修复操作
+     * @param tab 哈希桶数组
+     * @param node 添加的节点
+     */
+    private void fixAfterPut(AtomicReferenceArray<Node<K, V>> tab, Node<K, V> node) {
+        Node<K, V> parent = node.parent;
+        if (parent == null) {
+            color(node, Color.BLACK);
+            return;
+        }
+        if (isBlack(parent)) return;
+
+        Node<K, V> uncle = parent.sibling();
+        Node<K, V> grandparent = color(parent.parent, Color.RED);
+        if (isRed(uncle)) {
+            color(parent, Color.BLACK);
+            color(uncle, Color.BLACK);
+            fixAfterPut(tab, grandparent);
+            return;
+        }
+
+        if (parent.isLeftChild()) {
+            if (node.isLeftChild()) {
+                // LL的情况
+                color(parent, Color.BLACK);
+                rightRotate(tab, grandparent);
+            } else {
+                // LR的情况
+                color(node, Color.BLACK);
+                leftRotate(tab, parent);
+                rightRotate(tab, grandparent);
+            }
+        } else {
+            if (node.isRightChild()) {
+                // RR的情况
+                color(parent, Color.BLACK);
+                leftRotate(tab, grandparent);
+            } else {
+                // RL的情况
+                color(node, Color.BLACK);
+                rightRotate(tab, parent);
+                leftRotate(tab, grandparent);
+            }
+        }
+    }
+
+    /**
+     * 删除后的修复操作
+     * @param tab 哈希桶数组
+     * @param node 删除的节点或者用以取代删除节点的节点
+     */
+    private void fixAfterRemove(AtomicReferenceArray<Node<K, V>> tab, Node<K, V> node) {
+        if (isRed(node)) {
+            color(node, Color.BLACK);
+            return;
+        }
+        if (node.parent == null) {
+            return;
+        }
+
+        Node<K, V> parent = node.parent;
+        boolean isNodeRight = parent.right == null || node.isRightChild();
+        Node<K, V> sibling = isNodeRight ? parent.left : parent.right;
+        if (isNodeRight) {
+            if (isRed(sibling)) {
+                color(sibling, Color.BLACK);
+                color(parent, Color.RED);
+                rightRotate(tab, parent);
+                sibling = parent.left;
+            }
+
+            Color parentColor = isBlack(parent) ? Color.BLACK : Color.RED;
+            if (isBlack(sibling.left) && isBlack(sibling.right)) {
+                color(parent, Color.BLACK);
+                color(sibling, Color.RED);
+                if (parentColor == Color.BLACK) {
+                    fixAfterRemove(tab, parent);
+                }
+            } else {
+                if (isBlack(sibling.left)) {
+                    leftRotate(tab, sibling);
+                    sibling = parent.left;
+                }
+
+                color(sibling, parentColor);
+                color(parent, Color.BLACK);
+                color(sibling.left, Color.BLACK);
+                rightRotate(tab, parent);
+            }
+        } else {
+            if (isRed(sibling)) {
+                color(sibling, Color.BLACK);
+                color(parent, Color.RED);
+                leftRotate(tab, parent);
+                sibling = parent.right;
+            }
+
+            Color parentColor = isBlack(parent) ? Color.BLACK : Color.RED;
+            if (isBlack(sibling.left) && isBlack(sibling.right)) {
+                color(parent, Color.BLACK);
+                color(sibling, Color.RED);
+                if (parentColor == Color.BLACK) {
+                    fixAfterRemove(tab, parent);
+                }
+            } else {
+                if (isBlack(sibling.right)) {
+                    rightRotate(tab, sibling);
+                    sibling = parent.right;
+                }
+
+                color(sibling, parentColor);
+                color(parent, Color.BLACK);
+                color(sibling.right, Color.BLACK);
+                leftRotate(tab, parent);
+            }
+        }
+    }
+
+    /**
+     * 将节点左旋转
+     * @param tab 哈希桶数组
+     * @param node 要旋转的节点
+     */
+    private void leftRotate(AtomicReferenceArray<Node<K, V>> tab, Node<K, V> node) {
+        Node<K, V> p = node.right;
+        p.parent = node.parent;
+        if (node.isLeftChild()) {
+            node.parent.left = p;
+        } else if (node.isRightChild()) {
+            node.parent.right = p;
+        } else {
+            tab.set(node.hash & (tab.length() - 1), p);
+        }
+        node.parent = p;
+        if (p.left != null) {
+            p.left.parent = node;
+        }
+
+        node.right = p.left;
+        p.left = node;
+    }
+
+    /**
+     * 将节点右旋转
+     * @param tab 哈希桶数组
+     * @param node 要旋转的节点
+     */
+    private void rightRotate(AtomicReferenceArray<Node<K, V>> tab, Node<K, V> node) {
+        Node<K, V> p = node.left;
+        p.parent = node.parent;
+        if (node.isLeftChild()) {
+            node.parent.left = p;
+        } else if (node.isRightChild()) {
+            node.parent.right = p;
+        } else {
+            tab.set(node.hash & (tab.length() - 1), p);
+        }
+        node.parent = p;
+        if (p.right != null) {
+            p.right.parent = node;
+        }
+
+        node.left = p.right;
+        p.right = node;
+    }
+
+    /**
+     * 获取键所在分段的锁
+     * @param h 键的哈希值
+     * @return 分段锁
+     */
+    private StampedLock lockFor(int h) {
+        return locks[h & (locks.length - 1)];
+    }
+
+    /**
+     * 对两个哈希值相等的键进行比较
+     * @return 如果两个键是同一类型并且可比较则返回比较结果，否则返回0
+     */
+    private int compareComparables(K k1, K k2) {
+        if (k2 != null && k1.getClass() == k2.getClass() && k1 instanceof Comparable) {
+            return ((Comparable<K>) k1).compareTo(k2);
+        }
+        return 0;
+    }
+
+    /**
+     * 哈希值相等并且无法比较时，根据内存地址决定插入方向
+     */
+    private int tieBreak(K k1, K k2) {
+        return System.identityHashCode(k1) > System.identityHashCode(k2) ? 1 : -1;
+    }
+
+    /**
+     * 对元素的键进行哈希操作
+     * @param key 元素的键
+     * @return 哈希值
+     */
+    private int hash(K key) {
+        int hash;
+        return (hash = key.hashCode()) ^ (hash >>> 16);
+    }
+
+    /**
+     * 检查元素的键是否为空
+     * @param key 元素的键
+     */
+    private void checkKeyNotNull(K key) {
+        if (key == null) throw new IllegalArgumentException("Key不能为空！");
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int n = -1 >>> Integer.numberOfLeadingZeros(capacity - 1);
+        return n < 0 ? 1 : n >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : n + 1;
+    }
+
+    private Node<K, V> color(Node<K, V> node, Color color) {
+        if (node == null) return null;
+
+        node.color = color;
+        return node;
+    }
+
+    private Color colorOf(Node<K, V> node) {
+        return node == null ? Color.BLACK : node.color;
+    }
+
+    private boolean isRed(Node<K, V> node) {
+        return colorOf(node) == Color.RED;
+    }
+
+    private boolean isBlack(Node<K, V> node) {
+        return colorOf(node) == Color.BLACK;
+    }
+
+    /**
+     * 元素节点
+     * <br/>节点的字段只在持有写锁时修改，读线程通过乐观读校验或读锁保证读到的是一致的状态
+     * @param <K> 元素键的类型
+     * @param <V> 元素值的类型
+     */
+    private static class Node<K, V> {
+        private K key;
+        private V value;
+        private int hash;
+        private Color color = Color.RED;
+        private Node<K, V> left;
+        private Node<K, V> right;
+        private Node<K, V> parent;
+
+        private Node(K key, V value, int hash, Node<K, V> parent) {
+            this.key = key;
+            this.value = value;
+            this.hash = hash;
+            this.parent = parent;
+        }
+
+        private boolean isLeftChild() {
+            return parent != null && this == parent.left;
+        }
+
+        private boolean isRightChild() {
+            return parent != null && this == parent.right;
+        }
+
+        private Node<K, V> sibling() {
+            if (isLeftChild()) {
+                return parent.right;
+            } else if (isRightChild()) {
+                return parent.left;
+            } else {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * 转发节点
+     * <br/>扩容时放置在已迁移完成的哈希桶上，指向新的哈希桶数组
+     * @param <K> 元素键的类型
+     * @param <V> 元素值的类型
+     */
+    private static final class ForwardingNode<K, V> extends Node<K, V> {
+        /**
+         * 新的哈希桶数组
+         */
+        private final AtomicReferenceArray<Node<K, V>> nextTable;
+
+        private ForwardingNode(AtomicReferenceArray<Node<K, V>> nextTable) {
+            super(null, null, 0, null);
+            this.nextTable = nextTable;
+        }
+    }
+
+    /**
+     * 扩容任务
+     * @param <K> 元素键的类型
+     * @param <V> 元素值的类型
+     */
+    private static final class Transfer<K, V> {
+        /**
+         * 扩容前的数组
+         */
+        private final AtomicReferenceArray<Node<K, V>> oldTable;
+        /**
+         * 扩容后的数组
+         */
+        private final AtomicReferenceArray<Node<K, V>> newTable;
+        /**
+         * 所有已迁移的桶共用的转发节点
+         */
+        private final ForwardingNode<K, V> forward;
+        /**
+         * 尚未被认领的哈希桶的上界，线程从高位向低位认领
+         */
+        private final AtomicInteger nextIndex;
+        /**
+         * 尚未迁移完成的哈希桶数量
+         */
+        private final AtomicInteger remaining;
+
+        private Transfer(AtomicReferenceArray<Node<K, V>> oldTable, AtomicReferenceArray<Node<K, V>> newTable) {
+            this.oldTable = oldTable;
+            this.newTable = newTable;
+            this.forward = new ForwardingNode<>(newTable);
+            this.nextIndex = new AtomicInteger(oldTable.length());
+            this.remaining = new AtomicInteger(oldTable.length());
+        }
+    }
+
+    /**
+     * 红黑树节点颜色
+     */
+    private enum Color {
+        /**
+         * 红色节点
+         */
+        RED,
+        /**
+         * 黑色节点
+         */
+        BLACK
+    }
+}
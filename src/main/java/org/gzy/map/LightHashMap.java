@@ -37,6 +37,19 @@ public class LightHashMap<K, V> implements ILightMap<K, V> {
      * <br/>公式：节点总数量/哈希桶数组长度
      */
     private float loadFactor;
+    /**
+     * 是否使用渐进式扩容
+     * <br/>开启后扩容时新旧两个数组会同时存在，之后的每次操作只迁移少量哈希桶，避免一次性迁移所有节点造成的停顿
+     */
+    private final boolean incrementalResize;
+    /**
+     * 渐进式扩容时的旧哈希桶数组，不为null表示正在进行渐进式扩容
+     */
+    private Node<K, V>[] oldTable;
+    /**
+     * 旧数组中下一个要迁移的哈希桶索引
+     */
+    private int rehashIndex;
 
     /**
      * 默认容量
@@ -46,6 +59,14 @@ public class LightHashMap<K, V> implements ILightMap<K, V> {
      * 默认负载因子
      */
     private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+    /**
+     * 渐进式扩容时每次操作最多迁移的非空哈希桶数量
+     */
+    private static final int REHASH_STEP = 4;
+    /**
+     * 渐进式扩容时每次操作最多跳过的空哈希桶数量，避免数组很稀疏时单次操作扫描过多的桶
+     */
+    private static final int REHASH_EMPTY_VISITS = REHASH_STEP * 10;
 
     public LightHashMap() {
         this(DEFAULT_CAPACITY, null);
@@ -56,9 +77,14 @@ public class LightHashMap<K, V> implements ILightMap<K, V> {
     }
 
     public LightHashMap(int capacity, float loadFactor, Comparator<K> comparator) {
+        this(capacity, loadFactor, comparator, false);
+    }
+
+    public LightHashMap(int capacity, float loadFactor, Comparator<K> comparator, boolean incrementalResize) {
         this.comparator = comparator;
         this.loadFactor = loadFactor;
-        this.table = new Node[capacity];
+        this.incrementalResize = incrementalResize;
+        this.table = newTable(capacity);
     }
 
     @Override
@@ -76,11 +102,14 @@ public class LightHashMap<K, V> implements ILightMap<K, V> {
         if (size == 0) return;
         size = 0;
         Arrays.fill(table, null);
+        oldTable = null;
+        rehashIndex = 0;
     }
 
     @Override
     public V put(K key, V value) {
         resize();
+        rehashFor(key);
 
         int index = index(key);
         Node<K, V> root = table[index];
@@ -159,17 +188,20 @@ public class LightHashMap<K, V> implements ILightMap<K, V> {
 
     @Override
     public V get(K key) {
+        rehashFor(key);
         Node<K, V> node = node(key);
         return node == null ? null : node.value;
     }
 
     @Override
     public V remove(K key) {
+        rehashFor(key);
         return remove(node(key));
     }
 
     @Override
     public boolean containsKey(K key) {
+        rehashFor(key);
         return node(key) != null;
     }
 
@@ -177,6 +209,16 @@ public class LightHashMap<K, V> implements ILightMap<K, V> {
     public boolean containsValue(V value) {
         if (size == 0) return false;
 
+        return containsValue(table, value) || oldTable != null && containsValue(oldTable, value);
+    }
+
+    /**
+     * 判断哈希桶数组中是否包含指定的值
+     * @param table 哈希桶数组
+     * @param value 要判断是否包含的值
+     * @return 如果包含就返回true，反之返回false
+     */
+    private boolean containsValue(Node<K, V>[] table, V value) {
         // 对每个索引上的红黑树进行层序遍历查找值
         ILightQueue<Node<K, V>> queue = new LightQueue<>();
         for (int i = 0; i < table.length; i++) {
@@ -204,6 +246,12 @@ public class LightHashMap<K, V> implements ILightMap<K, V> {
      * @param consumer 遍历每个元素时的操作
      */
     public void traversal(@Nullable Consumer<Node<K, V>> consumer) {
+        traversal(table, consumer);
+        // 渐进式扩容期间，尚未迁移的元素还在旧数组中
+        if (oldTable != null) traversal(oldTable, consumer);
+    }
+
+    private void traversal(Node<K, V>[] table, Consumer<Node<K, V>> consumer) {
         for (int i = 0; i < table.length; i++) {
             Node<K, V> root = table[i];
             if (root == null) continue;
@@ -260,15 +308,33 @@ public class LightHashMap<K, V> implements ILightMap<K, V> {
         return null;
     }
 
+    /**
+     * 创建指定长度的哈希表，泛型数组只能先创建通配符类型的数组再强制转换
+     * @param length 数组长度
+     * @return 哈希表
+     */
+    @SuppressWarnings("unchecked")
+    private static <K, V> Node<K, V>[] newTable(int length) {
+        return (Node<K, V>[]) new Node<?, ?>[length];
+    }
+
     /**
      * 扩容
      */
     private void resize() {
-        if (((float) size / table.length) <= loadFactor) return;
+        if (oldTable != null || ((float) size / table.length) <= loadFactor) return;
+
+        if (incrementalResize) {
+            // 只创建新数组，节点留给后续的操作逐步迁移
+            oldTable = table;
+            table = newTable(oldTable.length << 1);
+            rehashIndex = 0;
+            return;
+        }
 
         // 扩容为原来的两倍
         Node<K, V>[] oldTable = table;
-        table = new Node[oldTable.length << 1];
+        table = newTable(oldTable.length << 1);
 
         ILightQueue<Node<K, V>> queue = new LightQueue<>();
         for (int i = 0; i < oldTable.length; i++) {
@@ -292,6 +358,65 @@ public class LightHashMap<K, V> implements ILightMap<K, V> {
         }
     }
 
+    /**
+     * 渐进式扩容期间，先迁移键在旧数组中所在的哈希桶，保证该键只可能存在于新数组中，然后再推进一步迁移
+     * @param key 本次操作的键
+     */
+    private void rehashFor(K key) {
+        if (oldTable == null) return;
+
+        migrateBucket(hash(key) & (oldTable.length - 1));
+        rehashStep();
+    }
+
+    /**
+     * 推进一步渐进式扩容：最多迁移 {@link #REHASH_STEP} 个非空哈希桶，全部迁移完成后丢弃旧数组
+     */
+    private void rehashStep() {
+        int buckets = REHASH_STEP;
+        int emptyVisits = REHASH_EMPTY_VISITS;
+        while (buckets > 0 && rehashIndex < oldTable.length) {
+            if (oldTable[rehashIndex] == null) {
+                rehashIndex++;
+                if (--emptyVisits == 0) break;
+                continue;
+            }
+            migrateBucket(rehashIndex++);
+            buckets--;
+        }
+
+        if (rehashIndex >= oldTable.length) {
+            oldTable = null;
+            rehashIndex = 0;
+        }
+    }
+
+    /**
+     * 将旧数组中一个哈希桶的所有节点移动到新数组中
+     * @param index 旧数组中哈希桶的索引
+     */
+    private void migrateBucket(int index) {
+        Node<K, V> root = oldTable[index];
+        if (root == null) return;
+        oldTable[index] = null;
+
+        ILightQueue<Node<K, V>> queue = new LightQueue<>();
+        queue.offer(root);
+        while (!queue.isEmpty()) {
+            Node<K, V> node = queue.poll();
+
+            Node<K, V> left = node.left, right = node.right;
+            if (left != null) {
+                queue.offer(left);
+            }
+            if (right != null) {
+                queue.offer(right);
+            }
+
+            move(node);
+        }
+    }
+
     /**
      * 将节点移动到新索引位置上
      * @param newNode 要移动的节点
@@ -364,7 +489,8 @@ public class LightHashMap<K, V> implements ILightMap<K, V> {
      * @return 元素节点
      */
     protected Node<K, V> createNode(K key, V value, Node<K, V> parent) {
-        return new Node<>(key, value, parent, key == null ? 0 : key.hashCode());
+        // 保存扰动后的哈希值，和查找时使用的哈希值保持一致
+        return new Node<>(key, value, parent, hash(key));
     }
 
     /**
@@ -383,7 +509,7 @@ public class LightHashMap<K, V> implements ILightMap<K, V> {
      * @param key 元素的键
      * @return 哈希值
      */
-    private int hash(K key) {
+    protected int hash(K key) {
         int hash;
         // 哈希值默认为16位，但是为了防止hashCode()方法的实现生成大于16位的哈希值，所以将其高16位与低16位进行扰动计算
         return key == null ? 0 : (hash = key.hashCode()) ^ (hash >>> 16);
@@ -26,7 +26,7 @@ public class LightLinkedHashMap<K, V> extends LightHashMap<K, V> {
 
     @Override
     protected Node<K, V> createNode(K key, V value, Node<K, V> parent) {
-        LinkedNode<K, V> newNode = new LinkedNode<>(key, value, parent);
+        LinkedNode<K, V> newNode = new LinkedNode<>(key, value, parent, hash(key));
         if (head == null) {
             head = tail = newNode;
         } else {
@@ -0,0 +1,281 @@
+package org.gzy.map;
+
+import com.sun.istack.internal.Nullable;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 键为long的哈希映射
+ * <br/>键以原始类型存放，不会对键装箱，值仍然是对象，键不存在时返回null
+ * <br/>键0用来表示空槽位，所以键为0的元素单独存放
+ * @author GaoZiYang
+ * @since 2021年09月15日 17:36:04
+ */
+@SuppressWarnings("unchecked")
+public class LightLongObjectMap<V> {
+    /**
+     * 元素个数（包含键为0的元素）
+     */
+    private int size;
+    /**
+     * 键数组
+     */
+    private long[] keys;
+    /**
+     * 值数组
+     */
+    private Object[] values;
+    /**
+     * 是否包含键为0的元素
+     */
+    private boolean hasZeroKey;
+    /**
+     * 键为0的元素的值
+     */
+    private V zeroValue;
+    /**
+     * 负载因子
+     */
+    private final float loadFactor;
+    /**
+     * 扩容阈值
+     */
+    private int threshold;
+
+    /**
+     * 默认容量
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+    /**
+     * 默认负载因子
+     */
+    private static final float DEFAULT_LOAD_FACTOR = 0.5f;
+    /**
+     * 最大容量
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    public LightLongObjectMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public LightLongObjectMap(int capacity) {
+        this(capacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    public LightLongObjectMap(int capacity, float loadFactor) {
+        if (loadFactor <= 0 || loadFactor >= 1) throw new IllegalArgumentException("负载因子必须在0到1之间！");
+        this.loadFactor = loadFactor;
+        int length = tableSizeFor(capacity <= 0 ? DEFAULT_CAPACITY : capacity);
+        keys = new long[length];
+        values = new Object[length];
+        threshold = (int) (length * loadFactor);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        if (size == 0) return;
+        size = 0;
+        hasZeroKey = false;
+        zeroValue = null;
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+    }
+
+    /**
+     * 添加元素
+     * @param key 元素的键
+     * @param value 元素的值
+     * @return 如果已存在该键，覆盖原有值并返回
+     */
+    public V put(long key, V value) {
+        if (key == 0) {
+            V origin = zeroValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return origin;
+        }
+
+        int mask = keys.length - 1;
+        int index = index(key, mask);
+        long cur;
+        while ((cur = keys[index]) != 0) {
+            if (cur == key) {
+                V origin = (V) values[index];
+                values[index] = value;
+                return origin;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        if (++size > threshold) resize();
+        return null;
+    }
+
+    /**
+     * 根据键获取元素值
+     * @param key 元素的键
+     * @return 元素的值
+     */
+    public V get(long key) {
+        if (key == 0) return zeroValue;
+
+        int index = indexOf(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    /**
+     * 根据键移除元素
+     * @param key 元素的键
+     * @return 被移除元素的值
+     */
+    public V remove(long key) {
+        if (key == 0) {
+            if (!hasZeroKey) return null;
+            V origin = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            size--;
+            return origin;
+        }
+
+        int index = indexOf(key);
+        if (index < 0) return null;
+
+        V origin = (V) values[index];
+        size--;
+        shiftBackward(index);
+        return origin;
+    }
+
+    public boolean containsKey(long key) {
+        return key == 0 ? hasZeroKey : indexOf(key) >= 0;
+    }
+
+    public boolean containsValue(V value) {
+        if (hasZeroKey && Objects.equals(zeroValue, value)) return true;
+
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0 && Objects.equals(values[i], value)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 遍历所有元素
+     * @param consumer 遍历每个元素时的操作
+     */
+    public void traversal(@Nullable EntryConsumer<V> consumer) {
+        if (consumer == null) return;
+
+        if (hasZeroKey) consumer.accept(0, zeroValue);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) consumer.accept(keys[i], (V) values[i]);
+        }
+    }
+
+    /**
+     * 查找键所在的槽位
+     * @param key 非0的键
+     * @return 槽位索引，如果不存在则返回-1
+     */
+    private int indexOf(long key) {
+        int mask = keys.length - 1;
+        int index = index(key, mask);
+        long cur;
+        while ((cur = keys[index]) != 0) {
+            if (cur == key) return index;
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * 删除槽位上的元素后，将后续探测序列中的元素向前移动
+     * @param index 被删除元素的槽位
+     */
+    private void shiftBackward(int index) {
+        int mask = keys.length - 1;
+        int gap = index;
+        int next = (gap + 1) & mask;
+        long k;
+        while ((k = keys[next]) != 0) {
+            if (((next - index(k, mask)) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = k;
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = 0;
+        values[gap] = null;
+    }
+
+    /**
+     * 扩容为原来的两倍
+     */
+    private void resize() {
+        if (keys.length >= MAXIMUM_CAPACITY) {
+            if (size >= keys.length) throw new IllegalStateException("映射已达到最大容量！");
+            return;
+        }
+
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        int length = oldKeys.length << 1;
+        keys = new long[length];
+        values = new Object[length];
+        threshold = (int) (length * loadFactor);
+
+        int mask = length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            long k = oldKeys[i];
+            if (k == 0) continue;
+
+            int index = index(k, mask);
+            while (keys[index] != 0) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = k;
+            values[index] = oldValues[i];
+        }
+    }
+
+    private static int index(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        return ((int) h ^ (int) (h >>> 16)) & mask;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int n = -1 >>> Integer.numberOfLeadingZeros(capacity - 1);
+        return n < 0 ? 1 : n >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : n + 1;
+    }
+
+    /**
+     * 遍历元素时的操作
+     * @param <V> 元素值的类型
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        /**
+         * 处理一个元素
+         * @param key 元素的键
+         * @param value 元素的值
+         */
+        void accept(long key, V value);
+    }
+}
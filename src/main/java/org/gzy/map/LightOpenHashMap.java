@@ -0,0 +1,256 @@
+package org.gzy.map;
+
+import com.sun.istack.internal.Nullable;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * 基于开放寻址法（线性探测）实现的哈希映射
+ * <br/>键和值分别存放在两个平行数组中，不会为每个元素创建节点对象，查找时只需顺序扫描相邻的槽位
+ * @author GaoZiYang
+ * @since 2021年09月15日 10:12:37
+ */
+@SuppressWarnings("unchecked")
+public class LightOpenHashMap<K, V> implements ILightMap<K, V> {
+    /**
+     * 元素个数
+     */
+    private int size;
+    /**
+     * 键数组，槽位为null表示该槽位为空
+     */
+    private Object[] keys;
+    /**
+     * 值数组，与键数组一一对应
+     */
+    private Object[] values;
+    /**
+     * 负载因子
+     * <br/>公式：元素数量/数组长度
+     */
+    private final float loadFactor;
+    /**
+     * 扩容阈值，元素数量超过该值时进行扩容
+     */
+    private int threshold;
+
+    /**
+     * 默认容量
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+    /**
+     * 默认负载因子，线性探测在负载较高时探测长度会急剧增加，所以比拉链法的取值更低
+     */
+    private static final float DEFAULT_LOAD_FACTOR = 0.5f;
+    /**
+     * 最大容量
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    /**
+     * 用来替代null键的占位对象，因为数组中的null已经用来表示空槽位
+     */
+    private static final Object NULL_KEY = new Object();
+
+    public LightOpenHashMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public LightOpenHashMap(int capacity) {
+        this(capacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    public LightOpenHashMap(int capacity, float loadFactor) {
+        if (loadFactor <= 0 || loadFactor >= 1) throw new IllegalArgumentException("负载因子必须在0到1之间！");
+        this.loadFactor = loadFactor;
+        int length = tableSizeFor(capacity <= 0 ? DEFAULT_CAPACITY : capacity);
+        keys = new Object[length];
+        values = new Object[length];
+        threshold = (int) (length * loadFactor);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0) return;
+        size = 0;
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Object k = maskNull(key);
+        int mask = keys.length - 1;
+        int index = index(k, mask);
+        Object cur;
+        // 沿着探测序列查找，直到找到相同的键或者空槽位
+        while ((cur = keys[index]) != null) {
+            if (cur == k || cur.equals(k)) {
+                V origin = (V) values[index];
+                values[index] = value;
+                return origin;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = k;
+        values[index] = value;
+        if (++size > threshold) resize();
+        return null;
+    }
+
+    @Override
+    public V get(K key) {
+        int index = indexOf(maskNull(key));
+        return index < 0 ? null : (V) values[index];
+    }
+
+    @Override
+    public V remove(K key) {
+        int index = indexOf(maskNull(key));
+        if (index < 0) return null;
+
+        V origin = (V) values[index];
+        size--;
+        shiftBackward(index);
+        return origin;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return indexOf(maskNull(key)) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        if (size == 0) return false;
+
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null && Objects.equals(values[i], value)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 遍历所有元素（按照数组中的存储顺序）
+     * @param consumer 遍历每个元素时的操作
+     */
+    public void traversal(@Nullable BiConsumer<K, V> consumer) {
+        if (consumer == null) return;
+
+        for (int i = 0; i < keys.length; i++) {
+            Object k = keys[i];
+            if (k != null) consumer.accept(unmaskNull(k), (V) values[i]);
+        }
+    }
+
+    /**
+     * 查找键所在的槽位
+     * @param k 经过null替换后的键
+     * @return 槽位索引，如果不存在则返回-1
+     */
+    private int indexOf(Object k) {
+        int mask = keys.length - 1;
+        int index = index(k, mask);
+        Object cur;
+        while ((cur = keys[index]) != null) {
+            if (cur == k || cur.equals(k)) return index;
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * 删除槽位上的元素后，将后续探测序列中的元素向前移动，这样就不需要使用墓碑标记
+     * @param index 被删除元素的槽位
+     */
+    private void shiftBackward(int index) {
+        int mask = keys.length - 1;
+        int gap = index;
+        int next = (gap + 1) & mask;
+        Object k;
+        while ((k = keys[next]) != null) {
+            int home = index(k, mask);
+            // 元素的理想槽位不在(gap, next]区间内时，说明它可以移动到空出来的gap槽位上
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = k;
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = null;
+        values[gap] = null;
+    }
+
+    /**
+     * 扩容为原来的两倍，并将所有元素重新放入新数组
+     */
+    private void resize() {
+        if (keys.length >= MAXIMUM_CAPACITY) {
+            if (size >= keys.length) throw new IllegalStateException("映射已达到最大容量！");
+            return;
+        }
+
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int length = oldKeys.length << 1;
+        keys = new Object[length];
+        values = new Object[length];
+        threshold = (int) (length * loadFactor);
+
+        int mask = length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            Object k = oldKeys[i];
+            if (k == null) continue;
+
+            int index = index(k, mask);
+            while (keys[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = k;
+            values[index] = oldValues[i];
+        }
+    }
+
+    /**
+     * 根据键获取其理想槽位
+     * @param k 经过null替换后的键
+     * @param mask 数组长度减1
+     * @return 槽位索引
+     */
+    private static int index(Object k, int mask) {
+        // 乘以黄金分割常数打散低位，避免连续的哈希值在线性探测时聚集成一片
+        int h = k.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * 获取不小于指定容量的最小的2的幂
+     * @param capacity 指定的容量
+     * @return 2的幂
+     */
+    private static int tableSizeFor(int capacity) {
+        int n = -1 >>> Integer.numberOfLeadingZeros(capacity - 1);
+        return n < 0 ? 1 : n >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : n + 1;
+    }
+
+    private static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    private static <K> K unmaskNull(Object k) {
+        return k == NULL_KEY ? null : (K) k;
+    }
+}
@@ -4,6 +4,8 @@ import com.sun.istack.internal.Nullable;
 import org.gzy.queue.queue.LightQueue;
 
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.function.Consumer;
 
@@ -138,6 +140,293 @@ public class LightTreeMap<K, V> implements ILightMap<K, V> {
         return false;
     }
 
+    /**
+     * 获取最小的键
+     * @return 最小的键，映射为空时返回null
+     */
+    public K firstKey() {
+        return keyOf(first());
+    }
+
+    /**
+     * 获取最大的键
+     * @return 最大的键，映射为空时返回null
+     */
+    public K lastKey() {
+        return keyOf(last());
+    }
+
+    /**
+     * 获取小于等于指定键的最大键
+     * @param key 指定的键
+     * @return 小于等于指定键的最大键，不存在时返回null
+     */
+    public K floorKey(K key) {
+        checkKeyNotNull(key);
+        return keyOf(nearest(key, true, true));
+    }
+
+    /**
+     * 获取大于等于指定键的最小键
+     * @param key 指定的键
+     * @return 大于等于指定键的最小键，不存在时返回null
+     */
+    public K ceilingKey(K key) {
+        checkKeyNotNull(key);
+        return keyOf(nearest(key, false, true));
+    }
+
+    /**
+     * 获取小于指定键的最大键
+     * @param key 指定的键
+     * @return 小于指定键的最大键，不存在时返回null
+     */
+    public K lowerKey(K key) {
+        checkKeyNotNull(key);
+        return keyOf(nearest(key, true, false));
+    }
+
+    /**
+     * 获取大于指定键的最小键
+     * @param key 指定的键
+     * @return 大于指定键的最小键，不存在时返回null
+     */
+    public K higherKey(K key) {
+        checkKeyNotNull(key);
+        return keyOf(nearest(key, false, false));
+    }
+
+    /**
+     * 获取键在[fromKey, toKey)区间内的元素的迭代器（从小到大）
+     * <br/>迭代器是惰性的：创建时只查找一次起始节点，之后每次沿着后继节点移动，遍历k个元素的开销为O(log n + k)
+     * <br/>迭代期间不能修改映射
+     * @param fromKey 起始键（包含），为null表示从最小的键开始
+     * @param toKey 结束键（不包含），为null表示到最大的键结束
+     * @return 元素节点的迭代器
+     */
+    public Iterator<Node<K, V>> subMap(@Nullable K fromKey, @Nullable K toKey) {
+        if (fromKey != null && toKey != null && compare(fromKey, toKey) > 0) {
+            throw new IllegalArgumentException("起始键不能大于结束键！");
+        }
+        return new RangeIterator(fromKey == null ? first() : nearest(fromKey, false, true), toKey);
+    }
+
+    /**
+     * 区间迭代器
+     */
+    private class RangeIterator implements Iterator<Node<K, V>> {
+        /**
+         * 下一个要返回的节点
+         */
+        private Node<K, V> next;
+        /**
+         * 结束键（不包含）
+         */
+        private final K toKey;
+
+        private RangeIterator(Node<K, V> first, K toKey) {
+            this.next = first;
+            this.toKey = toKey;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null && (toKey == null || compare(next.key, toKey) < 0);
+        }
+
+        @Override
+        public Node<K, V> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+
+            Node<K, V> node = next;
+            next = successor(node);
+            return node;
+        }
+    }
+
+    /**
+     * 查找与指定键最接近的节点，只需从根节点向下查找一次
+     * @param key 指定的键
+     * @param lower 为true时查找比指定键小的节点，反之查找比指定键大的节点
+     * @param inclusive 是否包含与指定键相等的节点
+     * @return 最接近的节点，不存在时返回null
+     */
+    private Node<K, V> nearest(K key, boolean lower, boolean inclusive) {
+        Node<K, V> node = root;
+        Node<K, V> result = null;
+        while (node != null) {
+            int cmp = compare(key, node.key);
+            if (cmp == 0 && inclusive) return node;
+
+            if (lower ? cmp > 0 : cmp < 0) {
+                // 当前节点满足条件，继续向更接近指定键的方向查找
+                result = node;
+                node = lower ? node.right : node.left;
+            } else {
+                node = lower ? node.left : node.right;
+            }
+        }
+        return result;
+    }
+
+    private K keyOf(Node<K, V> node) {
+        return node == null ? null : node.key;
+    }
+
+    /**
+     * 批量添加元素
+     * <br/>如果键数组是严格升序的，会将已有元素与新元素归并后自底向上直接构建红黑树，整个过程是O(n)的，不需要任何旋转；
+     * 否则逐个调用 {@link #put(Object, Object)}
+     * @param keys 元素的键
+     * @param values 元素的值，与键一一对应
+     */
+    public void putAll(K[] keys, V[] values) {
+        checkEntries(keys, values);
+        int length = keys.length;
+        if (length == 0) return;
+
+        // 新元素较少时逐个添加更快
+        if (!isStrictlyAscending(keys) || length < (size >>> 2)) {
+            for (int i = 0; i < length; i++) {
+                put(keys[i], values[i]);
+            }
+            return;
+        }
+        if (root == null) {
+            buildFromSorted(keys, values, length);
+            return;
+        }
+
+        // 将已有元素与新元素按顺序归并，键相同时使用新值
+        K[] mergedKeys = (K[]) new Object[size + length];
+        V[] mergedValues = (V[]) new Object[size + length];
+        int count = 0;
+        int i = 0;
+        Node<K, V> node = first();
+        while (node != null || i < length) {
+            int cmp = node == null ? 1 : i == length ? -1 : compare(node.key, keys[i]);
+            if (cmp < 0) {
+                mergedKeys[count] = node.key;
+                mergedValues[count++] = node.value;
+                node = successor(node);
+            } else {
+                mergedKeys[count] = keys[i];
+                mergedValues[count++] = values[i++];
+                if (cmp == 0) node = successor(node);
+            }
+        }
+        buildFromSorted(mergedKeys, mergedValues, count);
+    }
+
+    /**
+     * 根据严格升序的键数组直接构建映射，时间复杂度为O(n)
+     * @param keys 严格升序的键
+     * @param values 元素的值，与键一一对应
+     * @param comparator 元素比较器，为null时键必须实现Comparable接口
+     * @return 构建好的映射
+     */
+    public static <K, V> LightTreeMap<K, V> fromSorted(K[] keys, V[] values, @Nullable Comparator<K> comparator) {
+        LightTreeMap<K, V> map = new LightTreeMap<>(comparator);
+        map.checkEntries(keys, values);
+        if (!map.isStrictlyAscending(keys)) throw new IllegalArgumentException("键必须严格升序！");
+        map.buildFromSorted(keys, values, keys.length);
+        return map;
+    }
+
+    /**
+     * 使用有序的键值构建整棵红黑树，原有的树会被丢弃
+     * @param keys 严格升序的键
+     * @param values 元素的值
+     * @param length 元素数量
+     */
+    private void buildFromSorted(K[] keys, V[] values, int length) {
+        root = buildFromSorted(0, 0, length - 1, redLevel(length), keys, values, null);
+        size = length;
+    }
+
+    /**
+     * 递归构建子树：取区间中点作为子树根节点，左右两半分别构建为左右子树
+     * <br/>这样得到的树除最底层外都是满的，只要把最底层的节点染成红色，其余节点染成黑色，就满足红黑树的所有性质
+     * @param level 当前子树根节点所在的层数，根节点为第0层
+     * @param lo 区间起始索引
+     * @param hi 区间结束索引（包含）
+     * @param redLevel 需要染成红色的层数
+     * @param parent 父节点
+     * @return 子树根节点
+     */
+    private Node<K, V> buildFromSorted(int level, int lo, int hi, int redLevel, K[] keys, V[] values, Node<K, V> parent) {
+        if (hi < lo) return null;
+
+        int mid = (lo + hi) >>> 1;
+        Node<K, V> node = createNode(keys[mid], values[mid], parent);
+        node.color = level == redLevel ? Color.RED : Color.BLACK;
+        node.left = buildFromSorted(level + 1, lo, mid - 1, redLevel, keys, values, node);
+        node.right = buildFromSorted(level + 1, mid + 1, hi, redLevel, keys, values, node);
+        return node;
+    }
+
+    /**
+     * 计算需要染成红色的层数，即节点数量为n的完全二叉树中不满的最底层
+     * @param n 节点数量
+     * @return 层数，如果最底层是满的则返回一个不存在的层数
+     */
+    private static int redLevel(int n) {
+        int level = 0;
+        for (int m = n - 1; m >= 0; m = m / 2 - 1) {
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * 判断键数组是否严格升序，同时检查每个键都不为空
+     * @param keys 键数组
+     * @return 是否严格升序
+     */
+    private boolean isStrictlyAscending(K[] keys) {
+        for (int i = 0; i < keys.length; i++) {
+            checkKeyNotNull(keys[i]);
+            if (i > 0 && compare(keys[i - 1], keys[i]) >= 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 检查批量添加的键值数组
+     * @param keys 键数组
+     * @param values 值数组
+     */
+    private void checkEntries(K[] keys, V[] values) {
+        if (keys == null || values == null) throw new IllegalArgumentException("键值数组不能为空！");
+        if (keys.length != values.length) throw new IllegalArgumentException("键值数组长度必须相同！");
+    }
+
+    /**
+     * 获取最小的节点
+     * @return 最小的节点
+     */
+    private Node<K, V> first() {
+        Node<K, V> node = root;
+        if (node == null) return null;
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node;
+    }
+
+    /**
+     * 获取最大的节点
+     * @return 最大的节点
+     */
+    private Node<K, V> last() {
+        Node<K, V> node = root;
+        if (node == null) return null;
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node;
+    }
+
     /**
      * 遍历所有元素（从小到大）
      * @param consumer 遍历每个元素时的操作
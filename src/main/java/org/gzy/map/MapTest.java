@@ -7,6 +7,11 @@ import java.util.*;
  * @since 2021年08月31日 19:34:43
  */
 public class MapTest {
+    /**
+     * 随机操作的次数
+     */
+    private static final int OPERATIONS = 200_000;
+
     public static void main(String[] args) {
         LightLinkedHashMap<String, Integer> map = new LightLinkedHashMap<>();
         map.put("Tom", new Random().nextInt(100));
@@ -15,5 +20,164 @@ public class MapTest {
         map.put("Jerry", new Random().nextInt(100));
         map.remove("Jack");
         map.traversal(System.out::println);
+
+        compareWithHashMap("LightHashMap", new LightHashMap<>());
+        // 初始容量很小，随机操作期间会多次扩容，删除经常落在还没迁移的旧桶上
+        compareWithHashMap("LightHashMap（渐进式扩容）", new LightHashMap<>(2, 0.75f, null, true));
+        compareWithHashMap("LightLinkedHashMap", new LightLinkedHashMap<>());
+        compareWithHashMap("LightOpenHashMap", new LightOpenHashMap<>(2));
+        intIntMap();
+        intObjectMap();
+        longLongMap();
+        longObjectMap();
+    }
+
+    /**
+     * 与HashMap执行相同的随机操作，键的范围较小，删除和覆盖都很频繁
+     */
+    private static void compareWithHashMap(String name, ILightMap<Integer, Integer> map) {
+        Map<Integer, Integer> reference = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < OPERATIONS; i++) {
+            // 包含负数键，负数的哈希值扰动后高位全是1
+            Integer key = random.nextInt(4000) - 1000;
+            switch (random.nextInt(3)) {
+                case 0:
+                    map.put(key, i);
+                    reference.put(key, i);
+                    break;
+                case 1:
+                    check(Objects.equals(map.remove(key), reference.remove(key)), name + " remove(" + key + ")");
+                    break;
+                default:
+                    check(Objects.equals(map.get(key), reference.get(key)), name + " get(" + key + ")");
+                    check(map.containsKey(key) == reference.containsKey(key), name + " containsKey(" + key + ")");
+            }
+            check(map.size() == reference.size(), name + " 数量不一致");
+        }
+        for (Map.Entry<Integer, Integer> entry : reference.entrySet()) {
+            check(entry.getValue().equals(map.get(entry.getKey())), name + " get(" + entry.getKey() + ")");
+        }
+        System.out.println(name + "：" + map.size() + "个元素，与HashMap一致");
+    }
+
+    /**
+     * 键为0时单独存放；相邻的键连续冲突，删除时后面的元素要向前移动，否则会查不到
+     */
+    private static void intIntMap() {
+        LightIntIntMap map = new LightIntIntMap(2, 0.5f, -1);
+        check(map.get(0) == -1 && !map.containsKey(0), "空映射中不应该有键0");
+        check(map.put(0, 7) == -1 && map.put(0, 8) == 7 && map.get(0) == 8 && map.size() == 1, "键0");
+        check(map.addTo(0, 2) == 10, "键0的addTo");
+        check(map.remove(0) == 10 && !map.containsKey(0) && map.isEmpty(), "删除键0");
+
+        Map<Integer, Integer> reference = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < OPERATIONS; i++) {
+            // 键都是64的倍数并且包含0，低位相同的键会集中在几段连续的位置上
+            int key = (random.nextInt(300) - 10) * 64;
+            int value = random.nextInt(1000);
+            switch (random.nextInt(4)) {
+                case 0:
+                    check(map.put(key, value) == reference.getOrDefault(key, -1), "put(" + key + ")");
+                    reference.put(key, value);
+                    break;
+                case 1:
+                    Integer removed = reference.remove(key);
+                    check(map.remove(key) == (removed == null ? -1 : removed), "remove(" + key + ")");
+                    break;
+                case 2:
+                    check(map.addTo(key, value) == reference.merge(key, value, Integer::sum), "addTo(" + key + ")");
+                    break;
+                default:
+                    check(map.get(key) == reference.getOrDefault(key, -1), "get(" + key + ")");
+            }
+            check(map.size() == reference.size(), "LightIntIntMap 数量不一致");
+        }
+        int[] count = new int[1];
+        map.traversal((key, value) -> {
+            count[0]++;
+            check(reference.get(key) == value, "遍历到的元素(" + key + "," + value + ")");
+        });
+        check(count[0] == reference.size(), "LightIntIntMap 遍历数量不一致");
+        System.out.println("LightIntIntMap：" + map.size() + "个元素，与HashMap一致");
+    }
+
+    private static void intObjectMap() {
+        LightIntObjectMap<String> map = new LightIntObjectMap<>(2);
+        Map<Integer, String> reference = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < OPERATIONS; i++) {
+            int key = (random.nextInt(300) - 10) * 64;
+            switch (random.nextInt(3)) {
+                case 0:
+                    check(Objects.equals(map.put(key, "v" + i), reference.put(key, "v" + i)), "put(" + key + ")");
+                    break;
+                case 1:
+                    check(Objects.equals(map.remove(key), reference.remove(key)), "remove(" + key + ")");
+                    break;
+                default:
+                    check(Objects.equals(map.get(key), reference.get(key)), "get(" + key + ")");
+                    check(map.containsKey(key) == reference.containsKey(key), "containsKey(" + key + ")");
+            }
+            check(map.size() == reference.size(), "LightIntObjectMap 数量不一致");
+        }
+        System.out.println("LightIntObjectMap：" + map.size() + "个元素，与HashMap一致");
+    }
+
+    private static void longLongMap() {
+        LightLongLongMap map = new LightLongLongMap(2, 0.5f, -1);
+        check(map.put(0, 1) == -1 && map.get(0) == 1 && map.remove(0) == 1 && map.isEmpty(), "键0");
+
+        Map<Long, Long> reference = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < OPERATIONS; i++) {
+            // 只有高32位不同的键，低32位全部相同
+            long key = (long) (random.nextInt(300) - 10) << 32;
+            long value = random.nextInt(1000);
+            switch (random.nextInt(4)) {
+                case 0:
+                    check(map.put(key, value) == reference.getOrDefault(key, -1L), "put(" + key + ")");
+                    reference.put(key, value);
+                    break;
+                case 1:
+                    Long removed = reference.remove(key);
+                    check(map.remove(key) == (removed == null ? -1 : removed), "remove(" + key + ")");
+                    break;
+                case 2:
+                    check(map.addTo(key, value) == reference.merge(key, value, Long::sum), "addTo(" + key + ")");
+                    break;
+                default:
+                    check(map.get(key) == reference.getOrDefault(key, -1L), "get(" + key + ")");
+            }
+            check(map.size() == reference.size(), "LightLongLongMap 数量不一致");
+        }
+        System.out.println("LightLongLongMap：" + map.size() + "个元素，与HashMap一致");
+    }
+
+    private static void longObjectMap() {
+        LightLongObjectMap<String> map = new LightLongObjectMap<>(2);
+        Map<Long, String> reference = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < OPERATIONS; i++) {
+            long key = (long) (random.nextInt(300) - 10) << 32;
+            switch (random.nextInt(3)) {
+                case 0:
+                    check(Objects.equals(map.put(key, "v" + i), reference.put(key, "v" + i)), "put(" + key + ")");
+                    break;
+                case 1:
+                    check(Objects.equals(map.remove(key), reference.remove(key)), "remove(" + key + ")");
+                    break;
+                default:
+                    check(Objects.equals(map.get(key), reference.get(key)), "get(" + key + ")");
+                    check(map.containsKey(key) == reference.containsKey(key), "containsKey(" + key + ")");
+            }
+            check(map.size() == reference.size(), "LightLongObjectMap 数量不一致");
+        }
+        System.out.println("LightLongObjectMap：" + map.size() + "个元素，与HashMap一致");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) throw new IllegalStateException("测试失败：" + message);
     }
 }
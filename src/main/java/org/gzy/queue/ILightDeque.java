@@ -1,5 +1,7 @@
 package org.gzy.queue;
 
+import java.util.function.Consumer;
+
 /**
  * 双端队列
  * @author GaoZiYang
@@ -32,25 +34,26 @@ public interface ILightDeque<E> {
 
     /**
      * 从队列头部出队
-     * @return 出队的元素
+     * <br/>与 {@link ILightQueue#poll()} 一样，队列为空时返回null
+     * @return 出队的元素，队列为空时返回null
      */
     E pollHead();
 
     /**
      * 从队列尾部出队
-     * @return 出队的元素
+     * @return 出队的元素，队列为空时返回null
      */
     E pollTail();
 
     /**
      * 获取队列头部的元素，但不会删除该元素
-     * @return 队列头部的元素
+     * @return 队列头部的元素，队列为空时返回null
      */
     E peekHead();
 
     /**
      * 获取队列尾部的元素，但不会删除该元素
-     * @return 队列尾部的元素
+     * @return 队列尾部的元素，队列为空时返回null
      */
     E peekTail();
 
@@ -58,4 +61,46 @@ public interface ILightDeque<E> {
      * 清空队列
      */
     void clear();
+
+    /**
+     * 从队列头部批量出队，依次交给消费者处理
+     * @param consumer 处理出队元素的消费者
+     * @param maxElements 最多出队的元素数量
+     * @return 实际出队的元素数量
+     */
+    default int drainTo(Consumer<? super E> consumer, int maxElements) {
+        if (consumer == null) throw new IllegalArgumentException("消费者不能为空！");
+        int count = 0;
+        while (count < maxElements && !isEmpty()) {
+            consumer.accept(pollHead());
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 从队列尾部批量入队
+     * @param src 要入队的元素数组
+     * @param from 第一个入队元素在数组中的索引
+     * @param length 入队元素的数量
+     */
+    default void offerAll(E[] src, int from, int length) {
+        ILightQueue.batchRangeCheck(src, from, length);
+        for (int i = from, end = from + length; i < end; i++) {
+            offerTail(src[i]);
+        }
+    }
+
+    /**
+     * 从队列头部批量出队，出队的元素从数组开头依次存放
+     * @param dst 存放出队元素的数组，最多出队数组长度个元素
+     * @return 实际出队的元素数量
+     */
+    default int pollBatch(E[] dst) {
+        int count = 0;
+        while (count < dst.length && !isEmpty()) {
+            dst[count++] = pollHead();
+        }
+        return count;
+    }
 }
@@ -1,5 +1,7 @@
 package org.gzy.queue;
 
+import java.util.function.Consumer;
+
 /**
  * 队列接口
  * @author GaoZiYang
@@ -26,13 +28,14 @@ public interface ILightQueue<E> {
 
     /**
      * 出队
-     * @return 出队的元素
+     * <br/>队列为空时返回null，不抛出异常，所以不能用返回值是否为null来判断允许存放null的队列是否为空
+     * @return 出队的元素，队列为空时返回null
      */
     E poll();
 
     /**
      * 获取队列头部的元素，但不会删除该元素
-     * @return 队列头部的元素
+     * @return 队列头部的元素，队列为空时返回null
      */
     E peek();
 
@@ -40,4 +43,58 @@ public interface ILightQueue<E> {
      * 清空队列
      */
     void clear();
+
+    /**
+     * 批量出队，依次交给消费者处理
+     * @param consumer 处理出队元素的消费者
+     * @param maxElements 最多出队的元素数量
+     * @return 实际出队的元素数量
+     */
+    default int drainTo(Consumer<? super E> consumer, int maxElements) {
+        if (consumer == null) throw new IllegalArgumentException("消费者不能为空！");
+        int count = 0;
+        while (count < maxElements && !isEmpty()) {
+            consumer.accept(poll());
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 批量入队
+     * @param src 要入队的元素数组
+     * @param from 第一个入队元素在数组中的索引
+     * @param length 入队元素的数量
+     */
+    default void offerAll(E[] src, int from, int length) {
+        batchRangeCheck(src, from, length);
+        for (int i = from, end = from + length; i < end; i++) {
+            offer(src[i]);
+        }
+    }
+
+    /**
+     * 批量出队，出队的元素从数组开头依次存放
+     * @param dst 存放出队元素的数组，最多出队数组长度个元素
+     * @return 实际出队的元素数量
+     */
+    default int pollBatch(E[] dst) {
+        int count = 0;
+        while (count < dst.length && !isEmpty()) {
+            dst[count++] = poll();
+        }
+        return count;
+    }
+
+    /**
+     * 检查批量操作的数组区间
+     * @param src 元素数组
+     * @param from 起始索引
+     * @param length 元素数量
+     */
+    static void batchRangeCheck(Object[] src, int from, int length) {
+        if (from < 0 || length < 0 || from > src.length - length) {
+            throw new IndexOutOfBoundsException("索引越界，起始索引：" + from + "，数量：" + length + "，数组长度：" + src.length);
+        }
+    }
 }
@@ -1,11 +1,15 @@
 package org.gzy.queue.circleDeque;
 
 import org.gzy.queue.ILightDeque;
+import org.gzy.queue.ILightQueue;
 
 import java.util.Arrays;
+import java.util.function.Consumer;
 
 /**
  * 循环双端队列
+ * <br/>数组长度始终是2的幂，真实索引通过与运算得到，不需要比较和分支
+ * <br/>可以开启缩容策略：元素被大量取出后，数组长度减半，把突发流量占用的内存还回去
  * @author GaoZiYang
  * @since 2021年07月18日 18:28:32
  */
@@ -17,7 +21,7 @@ public class LightCircleDeque<E> implements ILightDeque<E> {
     private int size;
 
     /**
-     * 元素数组
+     * 元素数组，长度为2的幂
      */
     private E[] elements;
 
@@ -27,12 +31,41 @@ public class LightCircleDeque<E> implements ILightDeque<E> {
     private int cursor;
 
     /**
-     * 默认容量为10
+     * 是否在元素数量降到数组长度的1/4时缩容
      */
-    private static final int DEFAULT_CAPACITY = 10;
+    private final boolean shrinkOnDrain;
+
+    /**
+     * 初始容量，缩容时不会小于该容量
+     */
+    private final int initialCapacity;
+
+    /**
+     * 默认容量为16
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * 最大容量
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
 
     public LightCircleDeque() {
-        elements = (E[]) new Object[DEFAULT_CAPACITY];
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    public LightCircleDeque(int capacity) {
+        this(capacity, false);
+    }
+
+    /**
+     * @param capacity 初始容量，会被调整为2的幂
+     * @param shrinkOnDrain 是否在元素数量降到数组长度的1/4时缩容
+     */
+    public LightCircleDeque(int capacity, boolean shrinkOnDrain) {
+        this.initialCapacity = tableSizeFor(capacity <= 0 ? DEFAULT_CAPACITY : capacity);
+        this.shrinkOnDrain = shrinkOnDrain;
+        elements = (E[]) new Object[initialCapacity];
     }
 
     @Override
@@ -62,21 +95,25 @@ public class LightCircleDeque<E> implements ILightDeque<E> {
 
     @Override
     public E pollHead() {
+        if (size == 0) return null;
         E element = elements[cursor];
         elements[cursor] = null;
         // 相当于队头指针向后移动一位
         cursor = index(1);
         size--;
+        shrink();
         return element;
     }
 
     @Override
     public E pollTail() {
+        if (size == 0) return null;
         // 获取队尾元素的真实索引
         int index = index(size - 1);
         E oldElement = elements[index];
         elements[index] = null;
         size--;
+        shrink();
         return oldElement;
     }
 
@@ -90,9 +127,60 @@ public class LightCircleDeque<E> implements ILightDeque<E> {
         return elements[index(size - 1)];
     }
 
+    @Override
+    public int drainTo(Consumer<? super E> consumer, int maxElements) {
+        if (consumer == null) throw new IllegalArgumentException("消费者不能为空！");
+        int count = 0;
+        // 每个元素先出队再交给消费者，消费者抛出异常或者在回调中读写队列时，队列的状态都是一致的
+        while (count < maxElements && size > 0) {
+            E element = elements[cursor];
+            elements[cursor] = null;
+            cursor = index(1);
+            size--;
+            count++;
+            consumer.accept(element);
+        }
+        shrink();
+        return count;
+    }
+
+    @Override
+    public void offerAll(E[] src, int from, int length) {
+        ILightQueue.batchRangeCheck(src, from, length);
+        if (length == 0) return;
+
+        expand(size + length);
+        int tail = index(size);
+        // 队尾到数组末尾放不下时，剩下的元素放到数组开头
+        int first = Math.min(length, elements.length - tail);
+        System.arraycopy(src, from, elements, tail, first);
+        System.arraycopy(src, from + first, elements, 0, length - first);
+        size += length;
+    }
+
+    @Override
+    public int pollBatch(E[] dst) {
+        int count = Math.min(size, dst.length);
+        if (count == 0) return 0;
+
+        int first = Math.min(count, elements.length - cursor);
+        System.arraycopy(elements, cursor, dst, 0, first);
+        System.arraycopy(elements, 0, dst, first, count - first);
+        Arrays.fill(elements, cursor, cursor + first, null);
+        Arrays.fill(elements, 0, count - first, null);
+        cursor = index(count);
+        size -= count;
+        shrink();
+        return count;
+    }
+
     @Override
     public void clear() {
-        Arrays.fill(elements, null);
+        if (shrinkOnDrain && elements.length > initialCapacity) {
+            elements = (E[]) new Object[initialCapacity];
+        } else {
+            Arrays.fill(elements, null);
+        }
         cursor = 0;
         size = 0;
     }
@@ -103,31 +191,54 @@ public class LightCircleDeque<E> implements ILightDeque<E> {
      * @return 真实的索引
      */
     private int index(int i) {
-        // 真实索引计算
-        i += cursor;
-        // 如果计算后的真实索引为负数，则需要将该索引调到数组的末端
-        if (i < 0) {
-            return i + elements.length;
-        }
-        // 取模确保计算得到的真实索引一直都在数组索引区间之内
-        return i - (i > elements.length ? elements.length : 0);
+        // 数组长度是2的幂，与运算相当于对数组长度取模，负数索引也会被映射到数组的末端
+        return (i + cursor) & (elements.length - 1);
     }
 
     /**
-     * 扩容
+     * 扩容为原来的两倍
      * @param minCapacity 扩容要求的最小容量
      */
     private void expand(int minCapacity) {
         if (elements.length >= minCapacity) return;
-        int newLength = elements.length + (elements.length >> 1);
+        if (minCapacity > MAXIMUM_CAPACITY) throw new IllegalStateException("队列已达到最大容量！");
+        resize(tableSizeFor(minCapacity));
+    }
+
+    /**
+     * 开启缩容策略时，元素数量降到数组长度的1/4后，数组长度减半
+     * <br/>减半后数组还有一半是空的，再入队时不会马上扩容
+     */
+    private void shrink() {
+        if (!shrinkOnDrain) return;
+        int length = elements.length;
+        if (length > initialCapacity && size <= (length >> 2)) resize(length >> 1);
+    }
+
+    /**
+     * 把元素按照从队头到队尾的顺序搬到新数组的开头
+     * <br/>元素在旧数组中最多分成两段，每段复制一次
+     * @param newLength 新数组长度
+     */
+    private void resize(int newLength) {
         E[] newElements = (E[]) new Object[newLength];
-        for (int i = 0; i < size; i++) {
-            newElements[i] = elements[index(i)];
-        }
+        int first = Math.min(size, elements.length - cursor);
+        System.arraycopy(elements, cursor, newElements, 0, first);
+        System.arraycopy(elements, 0, newElements, first, size - first);
         elements = newElements;
         cursor = 0;
     }
 
+    /**
+     * 获取不小于指定容量的最小的2的幂
+     * @param capacity 指定的容量
+     * @return 2的幂
+     */
+    private static int tableSizeFor(int capacity) {
+        int n = -1 >>> Integer.numberOfLeadingZeros(capacity - 1);
+        return n < 0 ? 1 : n >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : n + 1;
+    }
+
     @Override
     protected Object clone() throws CloneNotSupportedException {
         return super.clone();
@@ -3,9 +3,13 @@ package org.gzy.queue.circleQueue;
 import org.gzy.queue.ILightQueue;
 
 import java.util.Arrays;
+import java.util.function.Consumer;
 
 /**
  * 循环队列
+ * <br/>数组长度始终是2的幂，真实索引通过与运算得到，不需要比较和分支
+ * <br/>可以开启缩容策略：元素被大量取出后，数组长度减半，把突发流量占用的内存还回去
+ * <br/>也可以通过 {@link #fixedCapacity(int)} 创建固定容量的队列：队列满了以后覆盖最旧的元素，创建后不再分配内存
  * @author GaoZiYang
  * @since 2021年07月18日 17:35:03
  */
@@ -17,7 +21,7 @@ public class LightCircleQueue<E> implements ILightQueue<E> {
     private int size;
 
     /**
-     * 元素数组
+     * 元素数组，长度为2的幂
      */
     private E[] elements;
 
@@ -27,12 +31,64 @@ public class LightCircleQueue<E> implements ILightQueue<E> {
     private int cursor;
 
     /**
-     * 默认容量为10
+     * 是否在元素数量降到数组长度的1/4时缩容
      */
-    private static final int DEFAULT_CAPACITY = 10;
+    private final boolean shrinkOnDrain;
+
+    /**
+     * 初始容量，缩容时不会小于该容量
+     */
+    private final int initialCapacity;
+
+    /**
+     * 固定容量，队列满了以后覆盖最旧的元素，为0表示不限制容量
+     */
+    private final int fixedCapacity;
+
+    /**
+     * 默认容量为16
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * 最大容量
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
 
     public LightCircleQueue() {
-        elements = (E[]) new Object[DEFAULT_CAPACITY];
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    public LightCircleQueue(int capacity) {
+        this(capacity, false);
+    }
+
+    /**
+     * @param capacity 初始容量，会被调整为2的幂
+     * @param shrinkOnDrain 是否在元素数量降到数组长度的1/4时缩容
+     */
+    public LightCircleQueue(int capacity, boolean shrinkOnDrain) {
+        this(capacity, shrinkOnDrain, 0);
+    }
+
+    private LightCircleQueue(int capacity, boolean shrinkOnDrain, int fixedCapacity) {
+        this.initialCapacity = tableSizeFor(capacity <= 0 ? DEFAULT_CAPACITY : capacity);
+        this.shrinkOnDrain = shrinkOnDrain;
+        this.fixedCapacity = fixedCapacity;
+        elements = (E[]) new Object[initialCapacity];
+    }
+
+    /**
+     * 创建固定容量的循环队列，队列满了以后再入队会覆盖最旧的元素
+     * <br/>适合保存最近的若干个元素，例如统计窗口、最近事件
+     * @param capacity 固定容量
+     * @return 固定容量的循环队列
+     */
+    public static <E> LightCircleQueue<E> fixedCapacity(int capacity) {
+        if (capacity <= 0 || capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("容量必须在1到" + MAXIMUM_CAPACITY + "之间！");
+        }
+        return new LightCircleQueue<>(capacity, false, capacity);
     }
 
     @Override
@@ -47,6 +103,7 @@ public class LightCircleQueue<E> implements ILightQueue<E> {
 
     @Override
     public void offer(E e) {
+        if (size == fixedCapacity && fixedCapacity > 0) dropOldest(1);
         expand(size + 1);
         elements[index(size)] = e;
         size++;
@@ -54,10 +111,12 @@ public class LightCircleQueue<E> implements ILightQueue<E> {
 
     @Override
     public E poll() {
+        if (size == 0) return null;
         E element = elements[cursor];
         elements[cursor] = null;
         cursor = index(1);
         size--;
+        shrink();
         return element;
     }
 
@@ -66,38 +125,170 @@ public class LightCircleQueue<E> implements ILightQueue<E> {
         return elements[cursor];
     }
 
+    @Override
+    public int drainTo(Consumer<? super E> consumer, int maxElements) {
+        if (consumer == null) throw new IllegalArgumentException("消费者不能为空！");
+        int count = 0;
+        // 每个元素先出队再交给消费者，消费者抛出异常或者在回调中读写队列时，队列的状态都是一致的
+        while (count < maxElements && size > 0) {
+            E element = elements[cursor];
+            elements[cursor] = null;
+            cursor = index(1);
+            size--;
+            count++;
+            consumer.accept(element);
+        }
+        shrink();
+        return count;
+    }
+
+    @Override
+    public void offerAll(E[] src, int from, int length) {
+        ILightQueue.batchRangeCheck(src, from, length);
+        if (length == 0) return;
+
+        if (fixedCapacity > 0 && size + length > fixedCapacity) {
+            if (length >= fixedCapacity) {
+                // 新元素就能填满队列，只保留最后的fixedCapacity个
+                clear();
+                from += length - fixedCapacity;
+                length = fixedCapacity;
+            } else {
+                dropOldest(size + length - fixedCapacity);
+            }
+        }
+        expand(size + length);
+        int tail = index(size);
+        // 队尾到数组末尾放不下时，剩下的元素放到数组开头
+        int first = Math.min(length, elements.length - tail);
+        System.arraycopy(src, from, elements, tail, first);
+        System.arraycopy(src, from + first, elements, 0, length - first);
+        size += length;
+    }
+
+    @Override
+    public int pollBatch(E[] dst) {
+        int count = Math.min(size, dst.length);
+        if (count == 0) return 0;
+
+        int first = Math.min(count, elements.length - cursor);
+        System.arraycopy(elements, cursor, dst, 0, first);
+        System.arraycopy(elements, 0, dst, first, count - first);
+        Arrays.fill(elements, cursor, cursor + first, null);
+        Arrays.fill(elements, 0, count - first, null);
+        cursor = index(count);
+        size -= count;
+        shrink();
+        return count;
+    }
+
     @Override
     public void clear() {
-        Arrays.fill(elements, null);
+        if (shrinkOnDrain && elements.length > initialCapacity) {
+            elements = (E[]) new Object[initialCapacity];
+        } else {
+            Arrays.fill(elements, null);
+        }
         cursor = 0;
         size = 0;
     }
 
+    /**
+     * 按照从队头到队尾的顺序获取元素，不会删除元素
+     * @param index 元素相对于队头的索引，0表示队头
+     * @return 元素
+     */
+    public E get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("索引越界，索引：" + index + "，数量：" + size);
+        return elements[index(index)];
+    }
+
+    /**
+     * 获取队列中所有元素的快照，不会删除元素
+     * @return 按照从队头到队尾顺序排列的元素数组
+     */
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        int first = Math.min(size, elements.length - cursor);
+        System.arraycopy(elements, cursor, array, 0, first);
+        System.arraycopy(elements, 0, array, first, size - first);
+        return array;
+    }
+
+    /**
+     * 获取队列容量
+     * @return 固定容量的队列返回固定容量，否则返回当前数组长度
+     */
+    public int capacity() {
+        return fixedCapacity > 0 ? fixedCapacity : elements.length;
+    }
+
+    /**
+     * 丢弃队头的若干个元素
+     * @param count 丢弃的元素数量，不能超过元素数量
+     */
+    private void dropOldest(int count) {
+        int first = Math.min(count, elements.length - cursor);
+        Arrays.fill(elements, cursor, cursor + first, null);
+        Arrays.fill(elements, 0, count - first, null);
+        cursor = index(count);
+        size -= count;
+    }
+
     /**
      * 获取索引映射的真实索引
      * @param i 偏移后的索引，偏移量就是队头指针长度
      * @return 真实的索引
      */
     private int index(int i) {
-        i += cursor;
-        return i - (i > elements.length ? elements.length : 0);
+        // 数组长度是2的幂，与运算相当于对数组长度取模
+        return (i + cursor) & (elements.length - 1);
     }
 
     /**
-     * 扩容
+     * 扩容为原来的两倍
      * @param minCapacity 扩容要求的最小容量
      */
     private void expand(int minCapacity) {
         if (elements.length >= minCapacity) return;
-        int newLength = elements.length + (elements.length >> 1);
+        if (minCapacity > MAXIMUM_CAPACITY) throw new IllegalStateException("队列已达到最大容量！");
+        resize(tableSizeFor(minCapacity));
+    }
+
+    /**
+     * 开启缩容策略时，元素数量降到数组长度的1/4后，数组长度减半
+     * <br/>减半后数组还有一半是空的，再入队时不会马上扩容
+     */
+    private void shrink() {
+        if (!shrinkOnDrain) return;
+        int length = elements.length;
+        if (length > initialCapacity && size <= (length >> 2)) resize(length >> 1);
+    }
+
+    /**
+     * 把元素按照从队头到队尾的顺序搬到新数组的开头
+     * <br/>元素在旧数组中最多分成两段，每段复制一次
+     * @param newLength 新数组长度
+     */
+    private void resize(int newLength) {
         E[] newElements = (E[]) new Object[newLength];
-        for (int i = 0; i < size; i++) {
-            newElements[i] = elements[index(i)];
-        }
+        int first = Math.min(size, elements.length - cursor);
+        System.arraycopy(elements, cursor, newElements, 0, first);
+        System.arraycopy(elements, 0, newElements, first, size - first);
         elements = newElements;
         cursor = 0;
     }
 
+    /**
+     * 获取不小于指定容量的最小的2的幂
+     * @param capacity 指定的容量
+     * @return 2的幂
+     */
+    private static int tableSizeFor(int capacity) {
+        int n = -1 >>> Integer.numberOfLeadingZeros(capacity - 1);
+        return n < 0 ? 1 : n >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : n + 1;
+    }
+
     @Override
     protected Object clone() throws CloneNotSupportedException {
         return super.clone();
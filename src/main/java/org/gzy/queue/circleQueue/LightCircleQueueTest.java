@@ -17,5 +17,15 @@ public class LightCircleQueueTest {
             lightCircleQueue.offer(i);
         }
         System.out.println(lightCircleQueue);
+
+        // 固定容量，只保留最近的5个元素
+        LightCircleQueue<Integer> window = LightCircleQueue.fixedCapacity(5);
+        for (int i = 0; i < 12; i++) {
+            window.offer(i);
+        }
+        for (int i = 0; i < window.size(); i++) {
+            System.out.print(window.get(i) + " ");
+        }
+        System.out.println();
     }
 }
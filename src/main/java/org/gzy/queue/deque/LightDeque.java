@@ -5,6 +5,7 @@ import org.gzy.list.linkedList.LightLinkedList;
 import org.gzy.queue.ILightDeque;
 
 import java.io.Serializable;
+import java.util.Iterator;
 
 /**
  * @author GaoZiYang
@@ -35,22 +36,22 @@ public class LightDeque<E> implements ILightDeque<E>, Cloneable, Serializable {
 
     @Override
     public E pollHead() {
-        return lightList.remove(lightList.size() - 1);
+        return lightList.isEmpty() ? null : lightList.remove(lightList.size() - 1);
     }
 
     @Override
     public E pollTail() {
-        return lightList.remove(0);
+        return lightList.isEmpty() ? null : lightList.remove(0);
     }
 
     @Override
     public E peekHead() {
-        return lightList.get(lightList.size() - 1);
+        return lightList.isEmpty() ? null : lightList.get(lightList.size() - 1);
     }
 
     @Override
     public E peekTail() {
-        return lightList.get(0);
+        return lightList.isEmpty() ? null : lightList.get(0);
     }
 
     @Override
@@ -67,9 +68,11 @@ public class LightDeque<E> implements ILightDeque<E>, Cloneable, Serializable {
     public String toString() {
         StringBuilder sb = new StringBuilder();
         sb.append("队尾 [");
-        for (int i = 0; i < lightList.size(); i++) {
-            if (i != 0) sb.append(",");
-            sb.append(lightList.get(i));
+        // 链表按索引取值要从头查找节点，用迭代器遍历
+        Iterator<E> iterator = lightList.iterator();
+        while (iterator.hasNext()) {
+            sb.append(iterator.next());
+            if (iterator.hasNext()) sb.append(",");
         }
         sb.append("] 队头");
         return sb.toString();
@@ -0,0 +1,39 @@
+package org.gzy.queue.mappedQueue;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 元素的序列化器，序列化后的字节数可以不固定
+ * @author GaoZiYang
+ * @since 2021年09月22日 09:48:35
+ */
+public interface ILightSerializer<E> {
+    /**
+     * 将元素序列化为字节数组
+     * @param e 元素
+     * @return 字节数组
+     */
+    byte[] serialize(E e);
+
+    /**
+     * 将字节数组反序列化为元素
+     * @param bytes 字节数组
+     * @return 元素
+     */
+    E deserialize(byte[] bytes);
+
+    /**
+     * 字符串的序列化器，使用UTF-8编码
+     */
+    ILightSerializer<String> STRING = new ILightSerializer<String>() {
+        @Override
+        public byte[] serialize(String s) {
+            return s.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String deserialize(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+}
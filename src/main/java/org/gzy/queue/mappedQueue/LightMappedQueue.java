@@ -0,0 +1,420 @@
+package org.gzy.queue.mappedQueue;
+
+import org.gzy.queue.ILightQueue;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * 基于内存映射文件的持久化队列
+ * <br/>元素序列化后追加写入段文件，每个段文件的大小固定，写满以后滚动到下一个段文件，读完的段文件会被删除
+ * <br/>读写位置保存在头文件中，段文件和头文件都通过 {@link FileChannel#map} 映射到内存，入队和出队只是读写内存，
+ * 由操作系统负责写回磁盘，进程重启后从头文件恢复读写位置
+ * <br/>每条记录的格式为：长度标记（4个字节）+ 序列化后的字节，长度标记等于字节数加1，先写字节再写长度标记。
+ * 长度标记为0表示还没有写入，不为0的记录一定是完整的，序列化成0个字节的元素也不会和未写入的位置混淆。
+ * 段文件剩余的空间放不下一条记录时，写入结束标记后滚动到下一个段文件
+ * <br/>队列不是线程安全的，同一个目录同一时刻只能由一个队列对象打开
+ * @author GaoZiYang
+ * @since 2021年09月22日 10:05:17
+ */
+public class LightMappedQueue<E> implements ILightQueue<E>, Closeable {
+    /**
+     * 队列目录
+     */
+    private final File directory;
+
+    /**
+     * 元素序列化器
+     */
+    private final ILightSerializer<E> serializer;
+
+    /**
+     * 段文件大小（字节）
+     */
+    private final int segmentSize;
+
+    /**
+     * 头文件通道
+     */
+    private final FileChannel headerChannel;
+
+    /**
+     * 映射到内存的头文件
+     */
+    private final MappedByteBuffer header;
+
+    /**
+     * 正在读的段文件
+     */
+    private Segment readSegment;
+
+    /**
+     * 正在写的段文件，可能和正在读的段文件是同一个
+     */
+    private Segment writeSegment;
+
+    /**
+     * 下一条要读的记录在段文件中的位置
+     */
+    private int readPosition;
+
+    /**
+     * 下一条记录要写入的位置
+     */
+    private int writePosition;
+
+    /**
+     * 元素数量
+     */
+    private long size;
+
+    /**
+     * 是否已关闭
+     */
+    private boolean closed;
+
+    /**
+     * 默认段文件大小为64MB
+     */
+    private static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+
+    /**
+     * 头文件名
+     */
+    private static final String HEADER_FILE = "queue.header";
+
+    /**
+     * 段文件后缀
+     */
+    private static final String SEGMENT_SUFFIX = ".segment";
+
+    /**
+     * 头文件的魔数，用来判断头文件是否已经初始化
+     */
+    private static final int MAGIC = 0x4C4D5131;
+
+    /**
+     * 段文件结束标记
+     */
+    private static final int END_OF_SEGMENT = -1;
+
+    /**
+     * 记录长度占用的字节数
+     */
+    private static final int LENGTH_SIZE = Integer.BYTES;
+
+    /*
+     * 头文件中各个字段的位置
+     */
+    private static final int HEADER_SIZE = 32;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int SEGMENT_SIZE_OFFSET = 4;
+    private static final int READ_SEGMENT_OFFSET = 8;
+    private static final int READ_POSITION_OFFSET = 12;
+    private static final int WRITE_SEGMENT_OFFSET = 16;
+    private static final int WRITE_POSITION_OFFSET = 20;
+    private static final int SIZE_OFFSET = 24;
+
+    public LightMappedQueue(File directory, ILightSerializer<E> serializer) {
+        this(directory, serializer, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * 打开队列，目录中已有数据时恢复读写位置
+     * @param directory 队列目录，不存在时会自动创建
+     * @param serializer 元素序列化器
+     * @param segmentSize 段文件大小，只在创建新队列时生效，已有队列沿用创建时的大小
+     */
+    public LightMappedQueue(File directory, ILightSerializer<E> serializer, int segmentSize) {
+        if (directory == null) throw new IllegalArgumentException("队列目录不能为空！");
+        if (serializer == null) throw new IllegalArgumentException("序列化器不能为空！");
+        if (segmentSize <= LENGTH_SIZE) throw new IllegalArgumentException("段文件大小必须大于" + LENGTH_SIZE + "！");
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalArgumentException("无法创建队列目录：" + directory);
+        }
+        this.directory = directory;
+        this.serializer = serializer;
+
+        try {
+            headerChannel = new RandomAccessFile(new File(directory, HEADER_FILE), "rw").getChannel();
+            header = headerChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            if (header.getInt(MAGIC_OFFSET) != MAGIC) {
+                header.putInt(SEGMENT_SIZE_OFFSET, segmentSize);
+                header.putInt(MAGIC_OFFSET, MAGIC);
+            }
+            this.segmentSize = header.getInt(SEGMENT_SIZE_OFFSET);
+            this.readPosition = header.getInt(READ_POSITION_OFFSET);
+            this.writePosition = header.getInt(WRITE_POSITION_OFFSET);
+            this.size = header.getLong(SIZE_OFFSET);
+
+            int readIndex = header.getInt(READ_SEGMENT_OFFSET);
+            int writeIndex = header.getInt(WRITE_SEGMENT_OFFSET);
+            deleteSegmentsBefore(readIndex);
+            writeSegment = new Segment(writeIndex);
+            readSegment = readIndex == writeIndex ? writeSegment : new Segment(readIndex);
+        } catch (IOException e) {
+            throw new UncheckedIOException("打开队列失败：" + directory, e);
+        }
+        recover();
+    }
+
+    /**
+     * 获取元素数量
+     * @return 元素数量，超过int范围时返回Integer.MAX_VALUE
+     */
+    @Override
+    public int size() {
+        return size > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void offer(E e) {
+        ensureOpen();
+        if (e == null) throw new IllegalArgumentException("元素不能为空！");
+        byte[] bytes = serializer.serialize(e);
+        if (bytes.length > segmentSize - LENGTH_SIZE) {
+            throw new IllegalArgumentException("元素序列化后的长度不能超过" + (segmentSize - LENGTH_SIZE) + "个字节！");
+        }
+
+        if (writePosition + LENGTH_SIZE + bytes.length > segmentSize) rollWriteSegment();
+
+        MappedByteBuffer buffer = writeSegment.buffer;
+        ByteBuffer slice = buffer.duplicate();
+        ((Buffer) slice).position(writePosition + LENGTH_SIZE);
+        slice.put(bytes);
+        // 最后写入长度标记，读到长度标记时记录一定已经完整写入
+        buffer.putInt(writePosition, bytes.length + 1);
+        writePosition += LENGTH_SIZE + bytes.length;
+        size++;
+        header.putInt(WRITE_POSITION_OFFSET, writePosition);
+        header.putLong(SIZE_OFFSET, size);
+    }
+
+    @Override
+    public E poll() {
+        byte[] bytes = read();
+        if (bytes == null) return null;
+        readPosition += LENGTH_SIZE + bytes.length;
+        size--;
+        header.putInt(READ_POSITION_OFFSET, readPosition);
+        header.putLong(SIZE_OFFSET, size);
+        return serializer.deserialize(bytes);
+    }
+
+    @Override
+    public E peek() {
+        byte[] bytes = read();
+        return bytes == null ? null : serializer.deserialize(bytes);
+    }
+
+    /**
+     * 清空队列，删除所有段文件，从下一个段文件重新开始写入
+     */
+    @Override
+    public void clear() {
+        ensureOpen();
+        int next = writeSegment.index + 1;
+        if (readSegment != writeSegment) readSegment.close();
+        writeSegment.close();
+        writeSegment = newSegment(next);
+        readSegment = writeSegment;
+        readPosition = 0;
+        writePosition = 0;
+        size = 0;
+        saveHeader();
+        deleteSegmentsBefore(next);
+    }
+
+    /**
+     * 将头文件和段文件中修改过的内容强制写回磁盘
+     * <br/>不调用该方法时由操作系统决定写回时机，进程崩溃不会丢数据，但操作系统崩溃或断电可能会丢失最近的修改
+     */
+    public void flush() {
+        ensureOpen();
+        writeSegment.buffer.force();
+        header.force();
+    }
+
+    /**
+     * 写回磁盘后关闭队列
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        flush();
+        closed = true;
+        if (readSegment != writeSegment) readSegment.close();
+        writeSegment.close();
+        try {
+            headerChannel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("关闭队列失败：" + directory, e);
+        }
+    }
+
+    /**
+     * 读取队头记录，需要时滚动到下一个段文件，但不移动读位置
+     * @return 记录的字节，队列为空时返回null
+     */
+    private byte[] read() {
+        ensureOpen();
+        while (true) {
+            if (readSegment == writeSegment && readPosition == writePosition) return null;
+
+            int marker = readPosition + LENGTH_SIZE > segmentSize
+                    ? END_OF_SEGMENT : readSegment.buffer.getInt(readPosition);
+            if (marker == END_OF_SEGMENT || (marker == 0 && readSegment != writeSegment)) {
+                rollReadSegment();
+                continue;
+            }
+
+            byte[] bytes = new byte[marker - 1];
+            ByteBuffer slice = readSegment.buffer.duplicate();
+            ((Buffer) slice).position(readPosition + LENGTH_SIZE);
+            slice.get(bytes);
+            return bytes;
+        }
+    }
+
+    /**
+     * 写入结束标记，滚动到下一个段文件
+     */
+    private void rollWriteSegment() {
+        if (writePosition + LENGTH_SIZE <= segmentSize) writeSegment.buffer.putInt(writePosition, END_OF_SEGMENT);
+        // 写满的段文件不会再修改，滚动时写回磁盘，flush()只需要处理当前段文件
+        writeSegment.buffer.force();
+        if (writeSegment != readSegment) writeSegment.close();
+        writeSegment = newSegment(writeSegment.index + 1);
+        writePosition = 0;
+        saveHeader();
+    }
+
+    /**
+     * 当前段文件已读完，滚动到下一个段文件并删除读完的段文件
+     */
+    private void rollReadSegment() {
+        Segment old = readSegment;
+        int next = old.index + 1;
+        readSegment = next == writeSegment.index ? writeSegment : newSegment(next);
+        readPosition = 0;
+        saveHeader();
+        old.close();
+        // 在Windows上映射中的文件无法删除，会在下次打开队列时删除
+        old.file.delete();
+    }
+
+    /**
+     * 头文件中记录的写位置之后可能还有已经完整写入的记录（写入记录后、更新头文件前进程崩溃），
+     * 沿着记录长度向后扫描，把这些记录找回来
+     */
+    private void recover() {
+        while (true) {
+            if (writePosition + LENGTH_SIZE <= segmentSize) {
+                int marker = writeSegment.buffer.getInt(writePosition);
+                if (marker > 0 && marker - 1 <= segmentSize - writePosition - LENGTH_SIZE) {
+                    writePosition += LENGTH_SIZE + marker - 1;
+                    size++;
+                    continue;
+                }
+                if (marker != END_OF_SEGMENT) break;
+            }
+            // 当前段文件已经写满，如果下一个段文件存在，说明写入者已经滚动过去了
+            if (!segmentFile(writeSegment.index + 1).exists()) break;
+            if (writeSegment != readSegment) writeSegment.close();
+            writeSegment = newSegment(writeSegment.index + 1);
+            writePosition = 0;
+        }
+        saveHeader();
+    }
+
+    private void saveHeader() {
+        header.putInt(READ_SEGMENT_OFFSET, readSegment.index);
+        header.putInt(READ_POSITION_OFFSET, readPosition);
+        header.putInt(WRITE_SEGMENT_OFFSET, writeSegment.index);
+        header.putInt(WRITE_POSITION_OFFSET, writePosition);
+        header.putLong(SIZE_OFFSET, size);
+    }
+
+    /**
+     * 删除编号小于指定编号的段文件，这些段文件已经读完
+     * @param index 段文件编号
+     */
+    private void deleteSegmentsBefore(int index) {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(SEGMENT_SUFFIX));
+        if (files == null) return;
+        for (File file : files) {
+            String name = file.getName();
+            try {
+                if (Integer.parseInt(name.substring(0, name.length() - SEGMENT_SUFFIX.length())) < index) file.delete();
+            } catch (NumberFormatException ignored) {
+                // 不是队列创建的文件
+            }
+        }
+    }
+
+    private Segment newSegment(int index) {
+        try {
+            return new Segment(index);
+        } catch (IOException e) {
+            throw new UncheckedIOException("打开段文件失败：" + segmentFile(index), e);
+        }
+    }
+
+    private File segmentFile(int index) {
+        return new File(directory, String.format("%010d%s", index, SEGMENT_SUFFIX));
+    }
+
+    private void ensureOpen() {
+        if (closed) throw new IllegalStateException("队列已关闭！");
+    }
+
+    @Override
+    public String toString() {
+        return "LightMappedQueue [directory=" + directory + ", size=" + size
+                + ", read=" + readSegment.index + ":" + readPosition
+                + ", write=" + writeSegment.index + ":" + writePosition + "]";
+    }
+
+    /**
+     * 段文件
+     */
+    private class Segment {
+        /**
+         * 段文件编号
+         */
+        final int index;
+        final File file;
+        final FileChannel channel;
+        /**
+         * 映射到内存的段文件，新建的文件内容全部为0
+         */
+        final MappedByteBuffer buffer;
+
+        Segment(int index) throws IOException {
+            this.index = index;
+            this.file = segmentFile(index);
+            this.channel = new RandomAccessFile(file, "rw").getChannel();
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("关闭段文件失败：" + file, e);
+            }
+        }
+    }
+}
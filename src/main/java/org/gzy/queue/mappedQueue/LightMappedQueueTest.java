@@ -0,0 +1,99 @@
+package org.gzy.queue.mappedQueue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+
+/**
+ * @author GaoZiYang
+ * @since 2021年09月22日 11:36:42
+ */
+public class LightMappedQueueTest {
+    public static void main(String[] args) {
+        File directory = new File(System.getProperty("java.io.tmpdir"), "light-mapped-queue-test");
+        final int count = 1_000_000;
+
+        // 段文件设为1MB，入队过程中会滚动多个段文件
+        LightMappedQueue<String> queue = new LightMappedQueue<>(directory, ILightSerializer.STRING, 1 << 20);
+        queue.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            queue.offer("element-" + i);
+        }
+        System.out.println("入队" + count + "个元素，耗时：" + (System.nanoTime() - start) / 1_000_000 + "ms");
+        for (int i = 0; i < count / 2; i++) {
+            String e = queue.poll();
+            if (!e.equals("element-" + i)) throw new IllegalStateException("顺序错误：" + e);
+        }
+        System.out.println(queue);
+        queue.close();
+
+        // 重新打开，从上次的读位置继续出队
+        queue = new LightMappedQueue<>(directory, ILightSerializer.STRING);
+        System.out.println("重新打开：" + queue);
+        start = System.nanoTime();
+        for (int i = count / 2; i < count; i++) {
+            String e = queue.poll();
+            if (!e.equals("element-" + i)) throw new IllegalStateException("顺序错误：" + e);
+        }
+        System.out.println("出队" + count / 2 + "个元素，耗时：" + (System.nanoTime() - start) / 1_000_000 + "ms");
+        System.out.println("队列为空：" + queue.isEmpty() + "，" + queue.poll());
+        queue.close();
+
+        emptyElements(new File(System.getProperty("java.io.tmpdir"), "light-mapped-queue-empty-test"));
+    }
+
+    /**
+     * 空字符串序列化后是0个字节，不能被当成未写入的位置而跳过，重新打开后也要能恢复
+     */
+    private static void emptyElements(File directory) {
+        // 段文件只有64个字节，写入过程中会滚动多次
+        LightMappedQueue<String> queue = new LightMappedQueue<>(directory, ILightSerializer.STRING, 64);
+        queue.clear();
+        String[] elements = new String[24];
+        elements[0] = "a";
+        elements[1] = "";
+        elements[2] = "b";
+        elements[3] = "c";
+        for (int i = 4; i < elements.length; i++) {
+            elements[i] = i % 3 == 0 ? "" : "x" + (i - 4);
+        }
+        for (String e : elements) {
+            queue.offer(e);
+        }
+        for (int i = 0; i < elements.length / 2; i++) {
+            String e = queue.poll();
+            if (!elements[i].equals(e)) throw new IllegalStateException("顺序错误，期望：" + elements[i] + "，实际：" + e);
+        }
+        queue.close();
+        rewindWritePosition(directory);
+
+        // 重新打开时沿着长度标记扫描，找回读位置之后的全部记录
+        queue = new LightMappedQueue<>(directory, ILightSerializer.STRING);
+        for (int i = elements.length / 2; i < elements.length; i++) {
+            String e = queue.poll();
+            if (!elements[i].equals(e)) throw new IllegalStateException("顺序错误，期望：" + elements[i] + "，实际：" + e);
+        }
+        if (!queue.isEmpty() || queue.poll() != null) throw new IllegalStateException("队列应该为空：" + queue);
+        System.out.println("空元素：" + queue);
+        queue.close();
+    }
+
+    /**
+     * 把头文件中的写位置回退到读位置、元素数量清零，模拟写入记录后、更新头文件前进程崩溃
+     */
+    private static void rewindWritePosition(File directory) {
+        try (RandomAccessFile file = new RandomAccessFile(new File(directory, "queue.header"), "rw")) {
+            // 头文件格式：魔数、段文件大小、读段文件、读位置、写段文件、写位置、元素数量
+            file.seek(8);
+            int readSegment = file.readInt();
+            int readPosition = file.readInt();
+            file.writeInt(readSegment);
+            file.writeInt(readPosition);
+            file.writeLong(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package org.gzy.queue.mpmcQueue;
+
+import org.gzy.queue.ILightQueue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 多生产者多消费者的无锁有界队列
+ * <br/>与 {@link org.gzy.queue.circleQueue.LightCircleQueue} 一样使用环形数组存放元素，另外每个槽位都有一个序号（Vyukov算法）：
+ * <br/>1. 序号等于入队序号时，说明槽位为空，生产者通过CAS抢到队尾序号后写入元素，再把槽位序号加1；
+ * <br/>2. 序号等于出队序号加1时，说明槽位已写入元素，消费者通过CAS抢到队头序号后取出元素，再把槽位序号加上数组长度；
+ * <br/>生产者之间只竞争队尾序号，消费者之间只竞争队头序号，读写元素本身不需要加锁。
+ * <br/>由于null用来表示队列为空，队列中不能存放null
+ * @author GaoZiYang
+ * @since 2021年09月19日 14:32:10
+ */
+public class LightMpmcQueue<E> extends LightMpmcQueueHeadFields<E> implements ILightQueue<E> {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+
+    /**
+     * 默认容量
+     */
+    private static final int DEFAULT_CAPACITY = 1024;
+    /**
+     * 阻塞等待时，先自旋的次数
+     */
+    private static final int SPIN_TIMES = 64;
+    /**
+     * 阻塞等待时，自旋之后让出CPU的次数，超过后开始挂起线程
+     */
+    private static final int YIELD_TIMES = 64;
+    /**
+     * 挂起线程的最长时间（纳秒）
+     */
+    private static final long MAX_PARK_NANOS = 1_000_000L;
+
+    public LightMpmcQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity 队列容量，会被调整为不小于2的2的幂
+     */
+    public LightMpmcQueue(int capacity) {
+        super(capacity <= 0 ? DEFAULT_CAPACITY : capacity);
+    }
+
+    /**
+     * 获取元素数量，由于其它线程可能正在修改队列，返回值只是某一时刻的近似值
+     * @return 元素数量
+     */
+    @Override
+    public int size() {
+        long after = head;
+        while (true) {
+            long before = after;
+            long t = tail;
+            after = head;
+            if (before == after) {
+                long size = t - after;
+                return size < 0 ? 0 : size > elements.length ? elements.length : (int) size;
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return head >= tail;
+    }
+
+    /**
+     * 入队
+     * @param e 要入队的元素
+     * @throws IllegalStateException 队列已满
+     */
+    @Override
+    public void offer(E e) {
+        if (!tryOffer(e)) throw new IllegalStateException("队列已满！");
+    }
+
+    /**
+     * 尝试入队
+     * @param e 要入队的元素
+     * @return 入队成功返回true，队列已满返回false
+     */
+    public boolean tryOffer(E e) {
+        if (e == null) throw new IllegalArgumentException("元素不能为空！");
+
+        long pos = tail;
+        while (true) {
+            int index = (int) pos & mask;
+            long dif = sequences.get(index) - pos;
+            if (dif == 0) {
+                // 槽位为空，抢占队尾序号
+                if (casTail(pos, pos + 1)) {
+                    elements[index] = e;
+                    sequences.lazySet(index, pos + 1);
+                    return true;
+                }
+                pos = tail;
+            } else if (dif < 0) {
+                // 槽位中的元素还没有被消费者取走，队列已满
+                return false;
+            } else {
+                // 其它生产者已经抢先占用了这个序号
+                pos = tail;
+            }
+        }
+    }
+
+    /**
+     * 出队
+     * @return 出队的元素，队列为空时返回null
+     */
+    @Override
+    public E poll() {
+        long pos = head;
+        while (true) {
+            int index = (int) pos & mask;
+            long dif = sequences.get(index) - (pos + 1);
+            if (dif == 0) {
+                // 槽位已写入元素，抢占队头序号
+                if (casHead(pos, pos + 1)) {
+                    E element = elements[index];
+                    elements[index] = null;
+                    // 序号加上数组长度，留给下一圈的生产者
+                    sequences.lazySet(index, pos + mask + 1);
+                    return element;
+                }
+                pos = head;
+            } else if (dif < 0) {
+                // 槽位还没有写入元素，队列为空
+                return null;
+            } else {
+                // 其它消费者已经抢先取走了这个序号
+                pos = head;
+            }
+        }
+    }
+
+    /**
+     * 获取队头元素
+     * @return 队头元素，队列为空时返回null
+     */
+    @Override
+    public E peek() {
+        while (true) {
+            long pos = head;
+            int index = (int) pos & mask;
+            if (sequences.get(index) - (pos + 1) < 0) return null;
+            E element = elements[index];
+            // 读取期间队头没有移动，说明读到的就是队头元素
+            if (element != null && head == pos) return element;
+        }
+    }
+
+    /**
+     * 批量出队，其它线程可能同时在出队，所以以poll()返回null作为结束条件
+     */
+    @Override
+    public int drainTo(Consumer<? super E> consumer, int maxElements) {
+        if (consumer == null) throw new IllegalArgumentException("消费者不能为空！");
+        int count = 0;
+        E element;
+        while (count < maxElements && (element = poll()) != null) {
+            consumer.accept(element);
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public int pollBatch(E[] dst) {
+        int count = 0;
+        E element;
+        while (count < dst.length && (element = poll()) != null) {
+            dst[count++] = element;
+        }
+        return count;
+    }
+
+    @Override
+    public void clear() {
+        while (poll() != null) { }
+    }
+
+    /**
+     * 入队，队列已满时阻塞等待
+     * @param e 要入队的元素
+     * @throws InterruptedException 等待时线程被中断
+     */
+    public void put(E e) throws InterruptedException {
+        for (int times = 0; !tryOffer(e); times++) {
+            backoff(times, MAX_PARK_NANOS);
+        }
+    }
+
+    /**
+     * 入队，队列已满时最多等待指定的时间
+     * @param e 要入队的元素
+     * @param timeout 最长等待时间
+     * @param unit 时间单位
+     * @return 入队成功返回true，超时返回false
+     * @throws InterruptedException 等待时线程被中断
+     */
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (int times = 0; !tryOffer(e); times++) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) return false;
+            backoff(times, remaining);
+        }
+        return true;
+    }
+
+    /**
+     * 出队，队列为空时阻塞等待
+     * @return 出队的元素
+     * @throws InterruptedException 等待时线程被中断
+     */
+    public E take() throws InterruptedException {
+        E element;
+        for (int times = 0; (element = poll()) == null; times++) {
+            backoff(times, MAX_PARK_NANOS);
+        }
+        return element;
+    }
+
+    /**
+     * 出队，队列为空时最多等待指定的时间
+     * @param timeout 最长等待时间
+     * @param unit 时间单位
+     * @return 出队的元素，超时返回null
+     * @throws InterruptedException 等待时线程被中断
+     */
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        E element;
+        for (int times = 0; (element = poll()) == null; times++) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) return null;
+            backoff(times, remaining);
+        }
+        return element;
+    }
+
+    /**
+     * 获取队列容量
+     * @return 队列容量
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * 等待一段时间后重试：先自旋，再让出CPU，最后挂起线程，挂起时间逐渐增加
+     * @param times 已经重试的次数
+     * @param maxNanos 最长挂起时间
+     * @throws InterruptedException 线程被中断
+     */
+    private static void backoff(int times, long maxNanos) throws InterruptedException {
+        if (Thread.interrupted()) throw new InterruptedException();
+        if (times < SPIN_TIMES) return;
+        if (times < SPIN_TIMES + YIELD_TIMES) {
+            Thread.yield();
+            return;
+        }
+        int shift = Math.min(times - SPIN_TIMES - YIELD_TIMES, 10);
+        LockSupport.parkNanos(Math.min(1000L << shift, Math.min(maxNanos, MAX_PARK_NANOS)));
+    }
+
+    @Override
+    public String toString() {
+        return "LightMpmcQueue [size=" + size() + ", capacity=" + capacity() + "]";
+    }
+}
+
+/**
+ * 所有线程共享的只读字段
+ */
+@SuppressWarnings("unchecked")
+abstract class LightMpmcQueueFields<E> {
+    /**
+     * 元素数组，长度为2的幂
+     */
+    final E[] elements;
+    /**
+     * 每个槽位的序号
+     */
+    final AtomicLongArray sequences;
+    /**
+     * 数组长度减1
+     */
+    final int mask;
+
+    /**
+     * 最大容量
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    LightMpmcQueueFields(int capacity) {
+        if (capacity > MAXIMUM_CAPACITY) throw new IllegalArgumentException("容量不能大于" + MAXIMUM_CAPACITY + "！");
+        // 长度为1时，下一圈的生产者会把还没有出队的槽位当成空槽位，所以长度至少为2
+        int n = -1 >>> Integer.numberOfLeadingZeros(capacity - 1);
+        int length = n < 1 ? 2 : n + 1;
+        elements = (E[]) new Object[length];
+        sequences = new AtomicLongArray(length);
+        for (int i = 0; i < length; i++) {
+            sequences.lazySet(i, i);
+        }
+        mask = length - 1;
+    }
+}
+
+/**
+ * 填充，隔开只读字段和队尾字段
+ */
+abstract class LightMpmcQueuePad0<E> extends LightMpmcQueueFields<E> {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+
+    LightMpmcQueuePad0(int capacity) {
+        super(capacity);
+    }
+}
+
+/**
+ * 生产者之间竞争的字段
+ */
+abstract class LightMpmcQueueTailFields<E> extends LightMpmcQueuePad0<E> {
+    /**
+     * 下一个入队元素的序号
+     */
+    volatile long tail;
+
+    /**
+     * 泛型类的类字面量是原始类型，这里转换成通配符类型
+     */
+    @SuppressWarnings("unchecked")
+    private static final AtomicLongFieldUpdater<LightMpmcQueueTailFields<?>> TAIL =
+            (AtomicLongFieldUpdater<LightMpmcQueueTailFields<?>>) (AtomicLongFieldUpdater<?>) AtomicLongFieldUpdater.newUpdater(LightMpmcQueueTailFields.class, "tail");
+
+    LightMpmcQueueTailFields(int capacity) {
+        super(capacity);
+    }
+
+    final boolean casTail(long expect, long update) {
+        return TAIL.compareAndSet(this, expect, update);
+    }
+}
+
+/**
+ * 填充，隔开队尾字段和队头字段
+ */
+abstract class LightMpmcQueuePad1<E> extends LightMpmcQueueTailFields<E> {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+
+    LightMpmcQueuePad1(int capacity) {
+        super(capacity);
+    }
+}
+
+/**
+ * 消费者之间竞争的字段
+ */
+abstract class LightMpmcQueueHeadFields<E> extends LightMpmcQueuePad1<E> {
+    /**
+     * 下一个出队元素的序号
+     */
+    volatile long head;
+
+    @SuppressWarnings("unchecked")
+    private static final AtomicLongFieldUpdater<LightMpmcQueueHeadFields<?>> HEAD =
+            (AtomicLongFieldUpdater<LightMpmcQueueHeadFields<?>>) (AtomicLongFieldUpdater<?>) AtomicLongFieldUpdater.newUpdater(LightMpmcQueueHeadFields.class, "head");
+
+    LightMpmcQueueHeadFields(int capacity) {
+        super(capacity);
+    }
+
+    final boolean casHead(long expect, long update) {
+        return HEAD.compareAndSet(this, expect, update);
+    }
+}
@@ -0,0 +1,79 @@
+package org.gzy.queue.mpmcQueue;
+
+import org.gzy.queue.queue.LightQueue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author GaoZiYang
+ * @since 2021年09月19日 15:21:47
+ */
+public class LightMpmcQueueTest {
+    private static final int THREADS = 4;
+    private static final int COUNT_PER_THREAD = 1_000_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        LightMpmcQueue<Integer> queue = new LightMpmcQueue<>(1024);
+        long time = run(queue::put, queue::take);
+        System.out.println("LightMpmcQueue 耗时：" + time + "ms");
+        System.out.println(queue);
+
+        // 作为对比，给基于数组的队列加上同步锁
+        LightQueue<Integer> lockedQueue = new LightQueue<>();
+        time = run(e -> {
+            synchronized (lockedQueue) {
+                lockedQueue.offer(e);
+            }
+        }, () -> {
+            while (true) {
+                synchronized (lockedQueue) {
+                    if (!lockedQueue.isEmpty()) return lockedQueue.poll();
+                }
+            }
+        });
+        System.out.println("synchronized LightQueue 耗时：" + time + "ms");
+    }
+
+    private static long run(Producer producer, Consumer consumer) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(THREADS * 2);
+        AtomicLong sum = new AtomicLong();
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < COUNT_PER_THREAD; i++) {
+                        producer.put(i);
+                    }
+                } catch (InterruptedException ignored) {
+                } finally {
+                    latch.countDown();
+                }
+            }).start();
+            new Thread(() -> {
+                try {
+                    long local = 0;
+                    for (int i = 0; i < COUNT_PER_THREAD; i++) {
+                        local += consumer.take();
+                    }
+                    sum.addAndGet(local);
+                } catch (InterruptedException ignored) {
+                } finally {
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+        long expected = (long) THREADS * COUNT_PER_THREAD * (COUNT_PER_THREAD - 1) / 2;
+        if (sum.get() != expected) throw new IllegalStateException("元素丢失，期望：" + expected + "，实际：" + sum.get());
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private interface Producer {
+        void put(Integer e) throws InterruptedException;
+    }
+
+    private interface Consumer {
+        Integer take() throws InterruptedException;
+    }
+}
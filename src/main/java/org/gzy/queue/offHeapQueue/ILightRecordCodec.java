@@ -0,0 +1,73 @@
+package org.gzy.queue.offHeapQueue;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 定长记录的编解码器，负责在元素对象和缓冲区中的字节之间转换
+ * <br/>每条记录占用的字节数必须固定，编解码时只能访问[offset, offset + recordSize())区间内的字节
+ * @author GaoZiYang
+ * @since 2021年09月21日 10:14:26
+ */
+public interface ILightRecordCodec<E> {
+    /**
+     * 获取每条记录占用的字节数
+     * @return 字节数
+     */
+    int recordSize();
+
+    /**
+     * 将元素写入缓冲区，只能使用绝对位置的读写方法，不能修改缓冲区的position和limit
+     * @param e 要写入的元素
+     * @param buffer 缓冲区
+     * @param offset 记录在缓冲区中的起始位置
+     */
+    void encode(E e, ByteBuffer buffer, int offset);
+
+    /**
+     * 从缓冲区读出元素，只能使用绝对位置的读写方法，不能修改缓冲区的position和limit
+     * @param buffer 缓冲区
+     * @param offset 记录在缓冲区中的起始位置
+     * @return 读出的元素
+     */
+    E decode(ByteBuffer buffer, int offset);
+
+    /**
+     * int的编解码器，null会被写成0
+     */
+    ILightRecordCodec<Integer> INT = new ILightRecordCodec<Integer>() {
+        @Override
+        public int recordSize() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(Integer e, ByteBuffer buffer, int offset) {
+            buffer.putInt(offset, e == null ? 0 : e);
+        }
+
+        @Override
+        public Integer decode(ByteBuffer buffer, int offset) {
+            return buffer.getInt(offset);
+        }
+    };
+
+    /**
+     * long的编解码器，null会被写成0
+     */
+    ILightRecordCodec<Long> LONG = new ILightRecordCodec<Long>() {
+        @Override
+        public int recordSize() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void encode(Long e, ByteBuffer buffer, int offset) {
+            buffer.putLong(offset, e == null ? 0L : e);
+        }
+
+        @Override
+        public Long decode(ByteBuffer buffer, int offset) {
+            return buffer.getLong(offset);
+        }
+    };
+}
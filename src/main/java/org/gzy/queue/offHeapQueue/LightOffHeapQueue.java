@@ -0,0 +1,197 @@
+package org.gzy.queue.offHeapQueue;
+
+import org.gzy.queue.ILightQueue;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 堆外循环队列
+ * <br/>与 {@link org.gzy.queue.circleQueue.LightCircleQueue} 的结构相同，但元素不是以对象的形式存放在数组中，
+ * 而是由编解码器序列化成定长记录，存放在直接缓冲区（堆外内存）中
+ * <br/>队列中的元素不占用堆内存，元素再多也不会增加GC的扫描负担，只有入队和出队时才会创建临时对象
+ * @author GaoZiYang
+ * @since 2021年09月21日 10:40:52
+ */
+public class LightOffHeapQueue<E> implements ILightQueue<E> {
+    /**
+     * 元素数量
+     */
+    private int size;
+
+    /**
+     * 存放记录的直接缓冲区，能容纳的记录数为2的幂
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * 缓冲区能容纳的记录数
+     */
+    private int length;
+
+    /**
+     * 队头指针（记录索引）
+     */
+    private int cursor;
+
+    /**
+     * 记录编解码器
+     */
+    private final ILightRecordCodec<E> codec;
+
+    /**
+     * 每条记录占用的字节数
+     */
+    private final int recordSize;
+
+    /**
+     * 最多能容纳的记录数，缓冲区的字节数不能超过int的范围
+     */
+    private final int maxLength;
+
+    /**
+     * 默认容量
+     */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    public LightOffHeapQueue(ILightRecordCodec<E> codec) {
+        this(codec, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param codec 记录编解码器
+     * @param capacity 初始容量（记录数），会被调整为2的幂
+     */
+    public LightOffHeapQueue(ILightRecordCodec<E> codec, int capacity) {
+        if (codec == null) throw new IllegalArgumentException("编解码器不能为空！");
+        if (codec.recordSize() <= 0) throw new IllegalArgumentException("记录长度必须大于0！");
+        this.codec = codec;
+        this.recordSize = codec.recordSize();
+        this.maxLength = Integer.highestOneBit(Integer.MAX_VALUE / recordSize);
+        int n = -1 >>> Integer.numberOfLeadingZeros((capacity <= 0 ? DEFAULT_CAPACITY : capacity) - 1);
+        this.length = n < 0 ? 1 : Math.min(n + 1, maxLength);
+        this.buffer = allocate(length);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void offer(E e) {
+        expand(size + 1);
+        codec.encode(e, buffer, index(size) * recordSize);
+        size++;
+    }
+
+    @Override
+    public E poll() {
+        if (size == 0) return null;
+        E element = codec.decode(buffer, cursor * recordSize);
+        cursor = index(1);
+        size--;
+        return element;
+    }
+
+    @Override
+    public E peek() {
+        return size == 0 ? null : codec.decode(buffer, cursor * recordSize);
+    }
+
+    /**
+     * 清空队列，记录占用的字节不需要擦除，下次入队时会被覆盖
+     */
+    @Override
+    public void clear() {
+        cursor = 0;
+        size = 0;
+    }
+
+    /**
+     * 按照从队头到队尾的顺序获取元素，不会删除元素
+     * @param index 元素相对于队头的索引，0表示队头
+     * @return 元素
+     */
+    public E get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("索引越界，索引：" + index + "，数量：" + size);
+        return codec.decode(buffer, index(index) * recordSize);
+    }
+
+    /**
+     * 获取缓冲区占用的堆外内存字节数
+     * @return 字节数
+     */
+    public int capacityInBytes() {
+        return buffer.capacity();
+    }
+
+    /**
+     * 获取索引映射的真实索引
+     * @param i 偏移后的索引，偏移量就是队头指针长度
+     * @return 真实的记录索引
+     */
+    private int index(int i) {
+        return (i + cursor) & (length - 1);
+    }
+
+    /**
+     * 扩容为原来的两倍，记录在旧缓冲区中最多分成两段，每段批量复制一次
+     * @param minCapacity 扩容要求的最小容量
+     */
+    private void expand(int minCapacity) {
+        if (length >= minCapacity) return;
+        if (length >= maxLength) throw new IllegalStateException("队列已达到最大容量！");
+
+        int newLength = length << 1;
+        ByteBuffer newBuffer = allocate(newLength);
+        int first = Math.min(size, length - cursor);
+        copy(buffer, cursor, newBuffer, 0, first);
+        copy(buffer, 0, newBuffer, first, size - first);
+        buffer = newBuffer;
+        length = newLength;
+        cursor = 0;
+    }
+
+    /**
+     * 批量复制记录
+     * @param src 源缓冲区
+     * @param srcIndex 源缓冲区的起始记录索引
+     * @param dst 目标缓冲区
+     * @param dstIndex 目标缓冲区的起始记录索引
+     * @param count 记录数
+     */
+    private void copy(ByteBuffer src, int srcIndex, ByteBuffer dst, int dstIndex, int count) {
+        if (count == 0) return;
+        // 使用副本设置position和limit，不影响编解码器使用的原缓冲区
+        // 转成Buffer再调用，JDK9以上编译的代码在JDK8上运行时才不会找不到ByteBuffer的重载方法
+        ByteBuffer from = src.duplicate();
+        ((Buffer) from).limit((srcIndex + count) * recordSize);
+        ((Buffer) from).position(srcIndex * recordSize);
+        ByteBuffer to = dst.duplicate();
+        ((Buffer) to).position(dstIndex * recordSize);
+        to.put(from);
+    }
+
+    private ByteBuffer allocate(int records) {
+        return ByteBuffer.allocateDirect(records * recordSize).order(ByteOrder.nativeOrder());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        for (int i = 0; i < size; i++) {
+            if (i != 0) sb.append(",");
+            sb.append(get(i));
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,61 @@
+package org.gzy.queue.offHeapQueue;
+
+import java.nio.ByteBuffer;
+
+/**
+ * @author GaoZiYang
+ * @since 2021年09月21日 11:25:09
+ */
+public class LightOffHeapQueueTest {
+    public static void main(String[] args) {
+        LightOffHeapQueue<Integer> intQueue = new LightOffHeapQueue<>(ILightRecordCodec.INT, 4);
+        for (int i = 0; i < 10; i++) {
+            intQueue.offer(i);
+        }
+        for (int i = 0; i < 3; i++) {
+            intQueue.poll();
+        }
+        System.out.println(intQueue);
+
+        // 自定义记录：时间戳 + 价格，每条记录16个字节
+        final int count = 5_000_000;
+        LightOffHeapQueue<Tick> tickQueue = new LightOffHeapQueue<>(new TickCodec());
+        for (int i = 0; i < count; i++) {
+            tickQueue.offer(new Tick(i, i * 0.5));
+        }
+        System.out.println("记录数：" + tickQueue.size() + "，堆外内存：" + tickQueue.capacityInBytes() / 1024 / 1024 + "MB");
+        for (int i = 0; i < count; i++) {
+            Tick tick = tickQueue.poll();
+            if (tick.time != i || tick.price != i * 0.5) throw new IllegalStateException("记录错误：" + i);
+        }
+        System.out.println("全部出队：" + tickQueue.isEmpty());
+    }
+
+    private static class Tick {
+        final long time;
+        final double price;
+
+        Tick(long time, double price) {
+            this.time = time;
+            this.price = price;
+        }
+    }
+
+    private static class TickCodec implements ILightRecordCodec<Tick> {
+        @Override
+        public int recordSize() {
+            return Long.BYTES + Double.BYTES;
+        }
+
+        @Override
+        public void encode(Tick tick, ByteBuffer buffer, int offset) {
+            buffer.putLong(offset, tick.time);
+            buffer.putDouble(offset + Long.BYTES, tick.price);
+        }
+
+        @Override
+        public Tick decode(ByteBuffer buffer, int offset) {
+            return new Tick(buffer.getLong(offset), buffer.getDouble(offset + Long.BYTES));
+        }
+    }
+}
@@ -43,12 +43,12 @@ public class LightPriorityQueue<E> implements ILightQueue<E> {
 
     @Override
     public E poll() {
-        return heap.remove();
+        return heap.isEmpty() ? null : heap.remove();
     }
 
     @Override
     public E peek() {
-        return heap.get();
+        return heap.isEmpty() ? null : heap.get();
     }
 
     @Override
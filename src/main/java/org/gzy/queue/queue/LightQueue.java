@@ -1,64 +1,128 @@
 package org.gzy.queue.queue;
 
-import org.gzy.list.ILightList;
-import org.gzy.list.linkedList.LightLinkedList;
 import org.gzy.queue.ILightQueue;
 
 import java.io.Serializable;
+import java.util.Arrays;
 
 /**
- * 基于List集合实现的队列
+ * 基于环形数组实现的队列
+ * <br/>数组长度始终是2的幂，索引通过与运算取模，入队和出队都不会创建节点对象
  * @author GaoZiYang
  * @since 2021年07月18日 13:48:56
  */
+@SuppressWarnings("unchecked")
 public class LightQueue<E> implements ILightQueue<E>, Cloneable, Serializable {
     /**
-     * 存储队列元素
+     * 存储队列元素，长度为2的幂
      */
-    private final ILightList<E> lightList = new LightLinkedList<>();
+    private E[] elements;
+    /**
+     * 队头索引
+     */
+    private int head;
+    /**
+     * 元素数量
+     */
+    private int size;
+
+    /**
+     * 默认容量
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+    /**
+     * 最大容量
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    public LightQueue() {
+        elements = (E[]) new Object[DEFAULT_CAPACITY];
+    }
+
+    public LightQueue(int capacity) {
+        elements = (E[]) new Object[tableSizeFor(capacity <= 0 ? DEFAULT_CAPACITY : capacity)];
+    }
 
     @Override
     public int size() {
-        return lightList.size();
+        return size;
     }
 
     @Override
     public boolean isEmpty() {
-        return lightList.isEmpty();
+        return size == 0;
     }
 
     @Override
     public void offer(E e) {
-        lightList.add(0, e);
+        if (size == elements.length) expand();
+        elements[(head + size) & (elements.length - 1)] = e;
+        size++;
     }
 
     @Override
     public E poll() {
-        return lightList.remove(lightList.size() - 1);
+        if (size == 0) return null;
+        E element = elements[head];
+        elements[head] = null;
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return element;
     }
 
     @Override
     public E peek() {
-        return lightList.get(lightList.size() - 1);
+        return size == 0 ? null : elements[head];
     }
 
     @Override
     public void clear() {
-        lightList.clear();
+        if (size == 0) return;
+        Arrays.fill(elements, null);
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * 扩容为原来的两倍，元素按照从队头到队尾的顺序搬到新数组的开头
+     */
+    private void expand() {
+        int length = elements.length;
+        if (length >= MAXIMUM_CAPACITY) throw new IllegalStateException("队列已达到最大容量！");
+        E[] newElements = (E[]) new Object[length << 1];
+        // 队列已满，队头之后的部分和队头之前的部分各复制一次
+        int headLength = length - head;
+        System.arraycopy(elements, head, newElements, 0, headLength);
+        System.arraycopy(elements, 0, newElements, headLength, head);
+        elements = newElements;
+        head = 0;
+    }
+
+    /**
+     * 获取不小于指定容量的最小的2的幂
+     * @param capacity 指定的容量
+     * @return 2的幂
+     */
+    private static int tableSizeFor(int capacity) {
+        int n = -1 >>> Integer.numberOfLeadingZeros(capacity - 1);
+        return n < 0 ? 1 : n >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : n + 1;
     }
 
     @Override
     protected Object clone() throws CloneNotSupportedException {
-        return super.clone();
+        LightQueue<E> clone = (LightQueue<E>) super.clone();
+        clone.elements = elements.clone();
+        return clone;
     }
 
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
         sb.append("Tail [");
-        for (int i = 0; i < lightList.size(); i++) {
-            if (i != 0) sb.append(",");
-            sb.append(lightList.get(i));
+        int mask = elements.length - 1;
+        for (int i = size - 1; i >= 0; i--) {
+            if (i != size - 1) sb.append(",");
+            sb.append(elements[(head + i) & mask]);
         }
         sb.append("] Head");
         return sb.toString();
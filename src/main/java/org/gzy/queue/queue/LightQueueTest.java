@@ -9,6 +9,7 @@ import org.gzy.queue.ILightQueue;
 public class LightQueueTest {
     public static void main(String[] args) {
         ILightQueue<Integer> lightQueue = new LightQueue<>();
+        System.out.println(lightQueue.poll());
         lightQueue.offer(1);
         lightQueue.offer(2);
         lightQueue.offer(3);
@@ -0,0 +1,255 @@
+package org.gzy.queue.spscQueue;
+
+import org.gzy.queue.ILightQueue;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * 单生产者单消费者的无锁有界队列
+ * <br/>只允许一个线程入队、一个线程出队，两个线程之间不需要任何锁：
+ * <br/>1. 队尾序号只由生产者写入，队头序号只由消费者写入，写入时使用有序写（lazySet），读取时使用volatile读；
+ * <br/>2. 生产者缓存上一次读到的队头序号，消费者缓存上一次读到的队尾序号，只有缓存值不够用时才去读对方的序号；
+ * <br/>3. 生产者和消费者的字段之间用填充字段隔开，避免两个线程频繁写入同一个缓存行（伪共享）。
+ * <br/>由于null用来表示空槽位，队列中不能存放null
+ * @author GaoZiYang
+ * @since 2021年09月19日 10:26:41
+ */
+public class LightSpscQueue<E> extends LightSpscQueueConsumerFields<E> implements ILightQueue<E> {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+
+    /**
+     * 默认容量
+     */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    public LightSpscQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LightSpscQueue(int capacity) {
+        super(capacity <= 0 ? DEFAULT_CAPACITY : capacity);
+    }
+
+    /**
+     * 获取元素数量，由于另外一个线程可能正在修改队列，返回值只是某一时刻的近似值
+     * @return 元素数量
+     */
+    @Override
+    public int size() {
+        long after = head;
+        while (true) {
+            long before = after;
+            long t = tail;
+            after = head;
+            // 两次读到的队头序号相同，说明读取队尾序号期间队头没有移动
+            if (before == after) {
+                long size = t - after;
+                return size < 0 ? 0 : size > capacity ? capacity : (int) size;
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return head >= tail;
+    }
+
+    /**
+     * 入队，只能由生产者线程调用
+     * @param e 要入队的元素
+     * @throws IllegalStateException 队列已满
+     */
+    @Override
+    public void offer(E e) {
+        if (!tryOffer(e)) throw new IllegalStateException("队列已满！");
+    }
+
+    /**
+     * 尝试入队，只能由生产者线程调用
+     * @param e 要入队的元素
+     * @return 入队成功返回true，队列已满返回false
+     */
+    public boolean tryOffer(E e) {
+        if (e == null) throw new IllegalArgumentException("元素不能为空！");
+
+        long t = tail;
+        if (t - headCache >= capacity) {
+            headCache = head;
+            if (t - headCache >= capacity) return false;
+        }
+        elements[(int) t & mask] = e;
+        // 先写入元素再发布队尾序号，消费者看到新的队尾序号时一定能看到元素
+        soTail(t + 1);
+        return true;
+    }
+
+    /**
+     * 出队，只能由消费者线程调用
+     * @return 出队的元素，队列为空时返回null
+     */
+    @Override
+    public E poll() {
+        long h = head;
+        if (h >= tailCache) {
+            tailCache = tail;
+            if (h >= tailCache) return null;
+        }
+        int index = (int) h & mask;
+        E element = elements[index];
+        elements[index] = null;
+        // 先清空槽位再发布队头序号，生产者看到新的队头序号时才会覆盖该槽位
+        soHead(h + 1);
+        return element;
+    }
+
+    /**
+     * 获取队头元素，只能由消费者线程调用
+     * @return 队头元素，队列为空时返回null
+     */
+    @Override
+    public E peek() {
+        long h = head;
+        if (h >= tailCache) {
+            tailCache = tail;
+            if (h >= tailCache) return null;
+        }
+        return elements[(int) h & mask];
+    }
+
+    /**
+     * 清空队列，只能由消费者线程调用
+     */
+    @Override
+    public void clear() {
+        while (poll() != null) { }
+    }
+
+    /**
+     * 获取队列容量
+     * @return 队列容量
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public String toString() {
+        return "LightSpscQueue [size=" + size() + ", capacity=" + capacity + "]";
+    }
+}
+
+/**
+ * 所有线程共享的只读字段
+ */
+@SuppressWarnings("unchecked")
+abstract class LightSpscQueueFields<E> {
+    /**
+     * 元素数组，长度为2的幂
+     */
+    final E[] elements;
+    /**
+     * 数组长度减1
+     */
+    final int mask;
+    /**
+     * 队列容量，可以小于数组长度
+     */
+    final int capacity;
+
+    /**
+     * 最大容量
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    LightSpscQueueFields(int capacity) {
+        if (capacity > MAXIMUM_CAPACITY) throw new IllegalArgumentException("容量不能大于" + MAXIMUM_CAPACITY + "！");
+        int length = -1 >>> Integer.numberOfLeadingZeros(capacity - 1);
+        length = length < 0 ? 1 : length + 1;
+        this.elements = (E[]) new Object[length];
+        this.mask = length - 1;
+        this.capacity = capacity;
+    }
+}
+
+/**
+ * 填充，隔开只读字段和生产者字段
+ */
+abstract class LightSpscQueuePad0<E> extends LightSpscQueueFields<E> {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+
+    LightSpscQueuePad0(int capacity) {
+        super(capacity);
+    }
+}
+
+/**
+ * 生产者线程写入的字段
+ */
+abstract class LightSpscQueueProducerFields<E> extends LightSpscQueuePad0<E> {
+    /**
+     * 下一个入队元素的序号
+     */
+    volatile long tail;
+    /**
+     * 生产者缓存的队头序号
+     */
+    long headCache;
+
+    /**
+     * 类字面量只能是原始类型，转换成通配符类型以免产生原始类型的警告
+     */
+    @SuppressWarnings("unchecked")
+    private static final AtomicLongFieldUpdater<LightSpscQueueProducerFields<?>> TAIL =
+            (AtomicLongFieldUpdater<LightSpscQueueProducerFields<?>>) (AtomicLongFieldUpdater<?>) AtomicLongFieldUpdater.newUpdater(LightSpscQueueProducerFields.class, "tail");
+
+    LightSpscQueueProducerFields(int capacity) {
+        super(capacity);
+    }
+
+    /**
+     * 有序写入队尾序号
+     */
+    final void soTail(long value) {
+        TAIL.lazySet(this, value);
+    }
+}
+
+/**
+ * 填充，隔开生产者字段和消费者字段
+ */
+abstract class LightSpscQueuePad1<E> extends LightSpscQueueProducerFields<E> {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+
+    LightSpscQueuePad1(int capacity) {
+        super(capacity);
+    }
+}
+
+/**
+ * 消费者线程写入的字段
+ */
+abstract class LightSpscQueueConsumerFields<E> extends LightSpscQueuePad1<E> {
+    /**
+     * 下一个出队元素的序号
+     */
+    volatile long head;
+    /**
+     * 消费者缓存的队尾序号
+     */
+    long tailCache;
+
+    @SuppressWarnings("unchecked")
+    private static final AtomicLongFieldUpdater<LightSpscQueueConsumerFields<?>> HEAD =
+            (AtomicLongFieldUpdater<LightSpscQueueConsumerFields<?>>) (AtomicLongFieldUpdater<?>) AtomicLongFieldUpdater.newUpdater(LightSpscQueueConsumerFields.class, "head");
+
+    LightSpscQueueConsumerFields(int capacity) {
+        super(capacity);
+    }
+
+    /**
+     * 有序写入队头序号
+     */
+    final void soHead(long value) {
+        HEAD.lazySet(this, value);
+    }
+}
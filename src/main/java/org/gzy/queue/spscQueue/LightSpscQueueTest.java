@@ -0,0 +1,39 @@
+package org.gzy.queue.spscQueue;
+
+/**
+ * @author GaoZiYang
+ * @since 2021年09月19日 11:08:15
+ */
+public class LightSpscQueueTest {
+    public static void main(String[] args) throws InterruptedException {
+        final int count = 10_000_000;
+        LightSpscQueue<Integer> queue = new LightSpscQueue<>(1024);
+
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                Integer e = i;
+                while (!queue.tryOffer(e)) {
+                    Thread.yield();
+                }
+            }
+        });
+
+        long start = System.nanoTime();
+        producer.start();
+        long sum = 0;
+        for (int i = 0; i < count; i++) {
+            Integer e;
+            while ((e = queue.poll()) == null) {
+                Thread.yield();
+            }
+            if (e != i) throw new IllegalStateException("顺序错误，期望：" + i + "，实际：" + e);
+            sum += e;
+        }
+        producer.join();
+        long time = System.nanoTime() - start;
+
+        System.out.println("sum=" + sum + ", 耗时：" + time / 1_000_000 + "ms, "
+                + (long) count * 1_000_000_000L / time + " ops/s");
+        System.out.println(queue);
+    }
+}
@@ -0,0 +1,230 @@
+package org.gzy.queue.workStealingDeque;
+
+import org.gzy.queue.ILightDeque;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 工作窃取双端队列（Chase-Lev算法）
+ * <br/>与 {@link org.gzy.queue.circleDeque.LightCircleDeque} 一样使用环形数组存放元素，但是队头和队尾由不同的线程访问：
+ * <br/>1. 拥有者线程在队尾入队和出队，不需要加锁，只有和窃取线程争抢最后一个元素时才需要CAS；
+ * <br/>2. 其它线程从队头窃取元素，通过CAS移动队头序号。
+ * <br/>数组满了以后由拥有者线程扩容，窃取线程可能还在读旧数组，所以旧数组中的元素保持不变。
+ * <br/>由于null用来表示队列为空，队列中不能存放null
+ * @author GaoZiYang
+ * @since 2021年09月20日 10:05:33
+ */
+public class LightWorkStealingDeque<E> implements ILightDeque<E> {
+    /**
+     * 队头序号，窃取线程从这里取出元素
+     */
+    private volatile long top;
+    /**
+     * 队尾序号，只由拥有者线程修改
+     */
+    private volatile long bottom;
+    /**
+     * 元素数组，长度为2的幂
+     */
+    private volatile AtomicReferenceArray<E> elements;
+
+    @SuppressWarnings("unchecked")
+    private static final AtomicLongFieldUpdater<LightWorkStealingDeque<?>> TOP =
+            (AtomicLongFieldUpdater<LightWorkStealingDeque<?>>) (AtomicLongFieldUpdater<?>) AtomicLongFieldUpdater.newUpdater(LightWorkStealingDeque.class, "top");
+
+    /**
+     * 默认容量
+     */
+    private static final int DEFAULT_CAPACITY = 64;
+    /**
+     * 最大容量
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    public LightWorkStealingDeque() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LightWorkStealingDeque(int capacity) {
+        int n = -1 >>> Integer.numberOfLeadingZeros((capacity <= 0 ? DEFAULT_CAPACITY : capacity) - 1);
+        elements = new AtomicReferenceArray<>(n < 0 ? 1 : n >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : n + 1);
+    }
+
+    /**
+     * 获取元素数量，由于其它线程可能正在窃取元素，返回值只是某一时刻的近似值
+     * @return 元素数量
+     */
+    @Override
+    public int size() {
+        long size = bottom - top;
+        return size < 0 ? 0 : (int) size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return bottom <= top;
+    }
+
+    /**
+     * 不支持从队头入队，窃取线程只会从队头取出元素
+     */
+    @Override
+    public void offerHead(E e) {
+        throw new UnsupportedOperationException("工作窃取队列只能从队尾入队！");
+    }
+
+    /**
+     * 从队尾入队，只能由拥有者线程调用
+     * @param e 要入队的元素
+     */
+    @Override
+    public void offerTail(E e) {
+        if (e == null) throw new IllegalArgumentException("元素不能为空！");
+
+        long b = bottom;
+        long t = top;
+        AtomicReferenceArray<E> array = elements;
+        if (b - t >= array.length()) {
+            array = expand(array, t, b);
+        }
+        array.lazySet((int) b & (array.length() - 1), e);
+        // volatile写发布元素，窃取线程读到新的队尾序号时一定能读到元素
+        bottom = b + 1;
+    }
+
+    /**
+     * 从队尾出队，只能由拥有者线程调用
+     * @return 出队的元素，队列为空时返回null
+     */
+    @Override
+    public E pollTail() {
+        long b = bottom - 1;
+        AtomicReferenceArray<E> array = elements;
+        // 先预占队尾元素，再读队头序号，这样窃取线程和拥有者线程不会同时拿到同一个元素
+        bottom = b;
+        long t = top;
+        if (b < t) {
+            // 队列为空，恢复队尾序号
+            bottom = b + 1;
+            return null;
+        }
+
+        int index = (int) b & (array.length() - 1);
+        E element = array.get(index);
+        if (b > t) {
+            // 队列中还有其它元素，窃取线程不会访问这个槽位
+            array.lazySet(index, null);
+            return element;
+        }
+
+        // 只剩最后一个元素，和窃取线程争抢
+        if (!TOP.compareAndSet(this, t, t + 1)) element = null;
+        else array.lazySet(index, null);
+        bottom = t + 1;
+        return element;
+    }
+
+    /**
+     * 从队头窃取元素，可以由任意线程调用
+     * @return 窃取到的元素，队列为空时返回null
+     */
+    @Override
+    public E pollHead() {
+        while (true) {
+            long t = top;
+            long b = bottom;
+            if (t >= b) return null;
+
+            AtomicReferenceArray<E> array = elements;
+            E element = array.get((int) t & (array.length() - 1));
+            // 窃取成功后不能清空槽位，拥有者线程可能已经在这个槽位写入了下一圈的元素
+            if (TOP.compareAndSet(this, t, t + 1)) return element;
+        }
+    }
+
+    /**
+     * 获取队头元素
+     * @return 队头元素，队列为空时返回null
+     */
+    @Override
+    public E peekHead() {
+        long t = top;
+        long b = bottom;
+        if (t >= b) return null;
+        AtomicReferenceArray<E> array = elements;
+        return array.get((int) t & (array.length() - 1));
+    }
+
+    /**
+     * 获取队尾元素，只能由拥有者线程调用
+     * @return 队尾元素，队列为空时返回null
+     */
+    @Override
+    public E peekTail() {
+        long b = bottom - 1;
+        if (b < top) return null;
+        AtomicReferenceArray<E> array = elements;
+        return array.get((int) b & (array.length() - 1));
+    }
+
+    /**
+     * 批量出队，其它线程可能同时在出队，所以以pollHead()返回null作为结束条件
+     */
+    @Override
+    public int drainTo(Consumer<? super E> consumer, int maxElements) {
+        if (consumer == null) throw new IllegalArgumentException("消费者不能为空！");
+        int count = 0;
+        E element;
+        while (count < maxElements && (element = pollHead()) != null) {
+            consumer.accept(element);
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public int pollBatch(E[] dst) {
+        int count = 0;
+        E element;
+        while (count < dst.length && (element = pollHead()) != null) {
+            dst[count++] = element;
+        }
+        return count;
+    }
+
+    /**
+     * 清空队列，只能由拥有者线程调用
+     */
+    @Override
+    public void clear() {
+        while (pollTail() != null) { }
+    }
+
+    /**
+     * 扩容为原来的两倍，只复制[t, b)之间的元素，旧数组保持不变
+     * @param array 旧数组
+     * @param t 队头序号
+     * @param b 队尾序号
+     * @return 新数组
+     */
+    private AtomicReferenceArray<E> expand(AtomicReferenceArray<E> array, long t, long b) {
+        int length = array.length();
+        if (length >= MAXIMUM_CAPACITY) throw new IllegalStateException("队列已达到最大容量！");
+
+        AtomicReferenceArray<E> newArray = new AtomicReferenceArray<>(length << 1);
+        int oldMask = length - 1;
+        int newMask = (length << 1) - 1;
+        for (long i = t; i < b; i++) {
+            newArray.lazySet((int) i & newMask, array.get((int) i & oldMask));
+        }
+        elements = newArray;
+        return newArray;
+    }
+
+    @Override
+    public String toString() {
+        return "LightWorkStealingDeque [size=" + size() + ", capacity=" + elements.length() + "]";
+    }
+}
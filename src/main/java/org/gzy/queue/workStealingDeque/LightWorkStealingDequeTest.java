@@ -0,0 +1,61 @@
+package org.gzy.queue.workStealingDeque;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author GaoZiYang
+ * @since 2021年09月20日 11:12:40
+ */
+public class LightWorkStealingDequeTest {
+    private static final int COUNT = 2_000_000;
+    private static final int THIEVES = 3;
+
+    public static void main(String[] args) throws InterruptedException {
+        LightWorkStealingDeque<Integer> deque = new LightWorkStealingDeque<>(16);
+        // 记录每个元素被取出的次数，每个元素都必须恰好被取出一次
+        AtomicIntegerArray taken = new AtomicIntegerArray(COUNT);
+        AtomicLong stolen = new AtomicLong();
+        AtomicLong remaining = new AtomicLong(COUNT);
+
+        Thread[] thieves = new Thread[THIEVES];
+        for (int i = 0; i < THIEVES; i++) {
+            thieves[i] = new Thread(() -> {
+                while (remaining.get() > 0) {
+                    Integer e = deque.pollHead();
+                    if (e == null) continue;
+                    taken.incrementAndGet(e);
+                    stolen.incrementAndGet();
+                    remaining.decrementAndGet();
+                }
+            });
+            thieves[i].start();
+        }
+
+        // 拥有者线程每入队两个元素就出队一个
+        for (int i = 0; i < COUNT; i++) {
+            deque.offerTail(i);
+            if ((i & 1) == 1) {
+                Integer e = deque.pollTail();
+                if (e != null) {
+                    taken.incrementAndGet(e);
+                    remaining.decrementAndGet();
+                }
+            }
+        }
+        Integer e;
+        while ((e = deque.pollTail()) != null) {
+            taken.incrementAndGet(e);
+            remaining.decrementAndGet();
+        }
+        for (Thread thief : thieves) {
+            thief.join();
+        }
+
+        for (int i = 0; i < COUNT; i++) {
+            if (taken.get(i) != 1) throw new IllegalStateException("元素" + i + "被取出了" + taken.get(i) + "次");
+        }
+        System.out.println("窃取数量：" + stolen.get() + "，拥有者出队数量：" + (COUNT - stolen.get()));
+        System.out.println(deque);
+    }
+}
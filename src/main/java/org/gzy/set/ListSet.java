@@ -3,6 +3,7 @@ package org.gzy.set;
 import org.gzy.list.ILightList;
 import org.gzy.list.linkedList.LightLinkedList;
 
+import java.util.Iterator;
 import java.util.function.Consumer;
 
 /**
@@ -59,8 +60,10 @@ public class ListSet<E> implements ILightSet<E> {
             throw new IllegalArgumentException("遍历处理器不能为空！");
         }
 
-        for (int i = 0; i < list.size(); i++) {
-            consumer.accept(list.get(i));
+        // 链表按索引获取元素需要从头查找，使用迭代器顺着节点遍历
+        Iterator<E> iterator = list.iterator();
+        while (iterator.hasNext()) {
+            consumer.accept(iterator.next());
         }
     }
 }
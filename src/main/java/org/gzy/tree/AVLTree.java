@@ -17,6 +17,10 @@ public class AVLTree<E> extends BalanceBinarySearchTree<E> implements BinaryTree
         super(comparator);
     }
 
+    public AVLTree(Comparator<E> comparator, boolean orderStatistic) {
+        super(comparator, orderStatistic);
+    }
+
     @Override
     protected void afterAdd(Node<E> node) {
         // 一直顺着节点的父节点向上遍历节点，判断是否平衡，如果平衡就增加节点高度，反之则进行重新平衡操作
@@ -3,6 +3,8 @@ package org.gzy.tree;
 import org.gzy.queue.queue.LightQueue;
 import org.gzy.tree.printer.BinaryTreeInfo;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.function.Consumer;
 
 /**
@@ -11,7 +13,7 @@ import java.util.function.Consumer;
  * @since 2021年08月23日 00:09:48
  */
 @SuppressWarnings({"unchecked", "unused"})
-public abstract class AbstractBinaryTree<E> implements BinaryTree, BinaryTreeInfo {
+public abstract class AbstractBinaryTree<E> implements BinaryTree, BinaryTreeInfo, Iterable<E> {
     /**
      * 元素数量
      */
@@ -62,6 +64,11 @@ public abstract class AbstractBinaryTree<E> implements BinaryTree, BinaryTreeInf
          */
         protected Node<E> parent;
 
+        /**
+         * 以该节点为根的子树的节点数量，只有开启顺序统计的二叉搜索树才会维护该值
+         */
+        protected int subtreeSize = 1;
+
         protected Node(E e, Node<E> parent) {
             this.element = e;
             this.parent = parent;
@@ -130,12 +137,30 @@ public abstract class AbstractBinaryTree<E> implements BinaryTree, BinaryTreeInf
 
     @Override
     public int height() {
-        return height(root);
-    }
-
-    private int height(Node<E> node) {
-        if (node == null) return 0;
-        return Math.max(height(node.left), height(node.right)) + 1;
+        if (root == null) return 0;
+
+        // 沿着前序遍历的路径移动，同时记录当前节点的深度，不需要递归也不需要额外的队列
+        int height = 0;
+        int depth = 1;
+        Node<E> node = root;
+        while (node != null) {
+            height = Math.max(height, depth);
+            if (node.left != null) {
+                node = node.left;
+                depth++;
+            } else if (node.right != null) {
+                node = node.right;
+                depth++;
+            } else {
+                // 向上回溯，直到找到一个还有未访问的右兄弟节点的祖先
+                while (node.parent != null && (node.isRightChild() || node.parent.right == null)) {
+                    node = node.parent;
+                    depth--;
+                }
+                node = node.parent == null ? null : node.parent.right;
+            }
+        }
+        return height;
     }
 
     @Override
@@ -222,15 +247,9 @@ public abstract class AbstractBinaryTree<E> implements BinaryTree, BinaryTreeInf
         if (consumer == null) {
             throw new IllegalArgumentException("遍历处理器不能为空！");
         }
-        preorderTraversal(root, consumer);
-    }
-
-    private void preorderTraversal(Node<E> node, Consumer<E> consumer) {
-        if (node == null) return;
-
-        consumer.accept(node.element);
-        preorderTraversal(node.left, consumer);
-        preorderTraversal(node.right, consumer);
+        for (Node<E> node = root; node != null; node = nextPreorder(node)) {
+            consumer.accept(node.element);
+        }
     }
 
     /**
@@ -240,15 +259,9 @@ public abstract class AbstractBinaryTree<E> implements BinaryTree, BinaryTreeInf
         if (consumer == null) {
             throw new IllegalArgumentException("遍历处理器不能为空！");
         }
-        inorderTraversal(root, consumer);
-    }
-
-    private void inorderTraversal(Node<E> node, Consumer<E> consumer) {
-        if (node == null) return;
-
-        inorderTraversal(node.left, consumer);
-        consumer.accept(node.element);
-        inorderTraversal(node.right, consumer);
+        for (Node<E> node = firstInorder(root); node != null; node = successor(node)) {
+            consumer.accept(node.element);
+        }
     }
 
     /**
@@ -258,15 +271,162 @@ public abstract class AbstractBinaryTree<E> implements BinaryTree, BinaryTreeInf
         if (consumer == null) {
             throw new IllegalArgumentException("遍历处理器不能为空！");
         }
-        postorderTraversal(root, consumer);
+        for (Node<E> node = firstPostorder(root); node != null; node = nextPostorder(node)) {
+            consumer.accept(node.element);
+        }
+    }
+
+    /**
+     * 获取中序遍历的迭代器（从小到大）
+     * <br/>迭代器只借助父节点指针移动，额外空间为O(1)，可以随时停止迭代
+     * <br/>迭代期间不能修改树
+     * @return 迭代器
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new TraversalIterator(Order.INORDER);
+    }
+
+    /**
+     * 获取前序遍历的迭代器
+     * @return 迭代器
+     */
+    public Iterator<E> preorderIterator() {
+        return new TraversalIterator(Order.PREORDER);
+    }
+
+    /**
+     * 获取后序遍历的迭代器
+     * @return 迭代器
+     */
+    public Iterator<E> postorderIterator() {
+        return new TraversalIterator(Order.POSTORDER);
+    }
+
+    /**
+     * 遍历顺序
+     */
+    private enum Order {
+        /**
+         * 前序
+         */
+        PREORDER,
+        /**
+         * 中序
+         */
+        INORDER,
+        /**
+         * 后序
+         */
+        POSTORDER
+    }
+
+    /**
+     * 遍历迭代器
+     */
+    private class TraversalIterator implements Iterator<E> {
+        /**
+         * 遍历顺序
+         */
+        private final Order order;
+        /**
+         * 下一个要返回的节点
+         */
+        private Node<E> next;
+
+        private TraversalIterator(Order order) {
+            this.order = order;
+            switch (order) {
+                case PREORDER:
+                    next = root;
+                    break;
+                case INORDER:
+                    next = firstInorder(root);
+                    break;
+                default:
+                    next = firstPostorder(root);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            if (next == null) throw new NoSuchElementException();
+
+            Node<E> node = next;
+            switch (order) {
+                case PREORDER:
+                    next = nextPreorder(node);
+                    break;
+                case INORDER:
+                    next = successor(node);
+                    break;
+                default:
+                    next = nextPostorder(node);
+            }
+            return node.element;
+        }
     }
 
-    private void postorderTraversal(Node<E> node, Consumer<E> consumer) {
-        if (node == null) return;
+    /**
+     * 获取前序遍历中的下一个节点
+     * @param node 当前节点
+     * @return 下一个节点，没有则返回null
+     */
+    private Node<E> nextPreorder(Node<E> node) {
+        if (node.left != null) return node.left;
+        if (node.right != null) return node.right;
+
+        // 向上回溯，找到第一个还有未访问的右兄弟节点的祖先，它的右兄弟节点就是下一个节点
+        while (node.parent != null) {
+            if (node.isLeftChild() && node.parent.right != null) return node.parent.right;
+            node = node.parent;
+        }
+        return null;
+    }
+
+    /**
+     * 获取子树中序遍历的第一个节点，即最左边的节点
+     * @param node 子树的根节点
+     * @return 第一个节点
+     */
+    private Node<E> firstInorder(Node<E> node) {
+        if (node == null) return null;
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node;
+    }
+
+    /**
+     * 获取子树后序遍历的第一个节点：优先向左、其次向右，一直走到叶子节点
+     * @param node 子树的根节点
+     * @return 第一个节点
+     */
+    private Node<E> firstPostorder(Node<E> node) {
+        if (node == null) return null;
+        while (!node.isLeaf()) {
+            node = node.left != null ? node.left : node.right;
+        }
+        return node;
+    }
+
+    /**
+     * 获取后序遍历中的下一个节点
+     * @param node 当前节点
+     * @return 下一个节点，没有则返回null
+     */
+    private Node<E> nextPostorder(Node<E> node) {
+        Node<E> parent = node.parent;
+        if (parent == null) return null;
 
-        postorderTraversal(node.left, consumer);
-        postorderTraversal(node.right, consumer);
-        consumer.accept(node.element);
+        // 左子节点之后是父节点右子树的后序遍历，否则就轮到父节点自身
+        if (node.isLeftChild() && parent.right != null) return firstPostorder(parent.right);
+        return parent;
     }
 
     /**
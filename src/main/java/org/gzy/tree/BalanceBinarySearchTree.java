@@ -16,6 +16,10 @@ public abstract class BalanceBinarySearchTree<E> extends BinarySearchTree<E> {
         super(comparator);
     }
 
+    public BalanceBinarySearchTree(Comparator<E> comparator, boolean orderStatistic) {
+        super(comparator, orderStatistic);
+    }
+
     /**
      * 将节点左旋转
      * @param node 要旋转的节点
@@ -40,6 +44,12 @@ public abstract class BalanceBinarySearchTree<E> extends BinarySearchTree<E> {
         // 更改左右子节点
         node.right = p.left;
         p.left = node;
+
+        // 旋转只改变了这两个节点的子树，先更新下层的node，再更新上层的p
+        if (orderStatistic) {
+            updateSubtreeSize(node);
+            updateSubtreeSize(p);
+        }
     }
 
     /**
@@ -66,5 +76,11 @@ public abstract class BalanceBinarySearchTree<E> extends BinarySearchTree<E> {
         // 更改左右子节点
         node.left = p.right;
         p.right = node;
+
+        // 旋转只改变了这两个节点的子树，先更新下层的node，再更新上层的p
+        if (orderStatistic) {
+            updateSubtreeSize(node);
+            updateSubtreeSize(p);
+        }
     }
 }
@@ -1,6 +1,10 @@
 package org.gzy.tree;
 
+import com.sun.istack.internal.Nullable;
+
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * 二叉搜索树
@@ -13,13 +17,23 @@ public class BinarySearchTree<E> extends AbstractBinaryTree<E> {
      * 元素比较器
      */
     private final Comparator<E> comparator;
+    /**
+     * 是否开启顺序统计
+     * <br/>开启后每个节点都会维护子树的节点数量，从而可以在O(log n)内完成 {@link #select(int)} 和 {@link #rank(Object)}
+     */
+    protected final boolean orderStatistic;
 
     public BinarySearchTree() {
         this(null);
     }
 
     public BinarySearchTree(Comparator<E> comparator) {
+        this(comparator, false);
+    }
+
+    public BinarySearchTree(Comparator<E> comparator, boolean orderStatistic) {
         this.comparator = comparator;
+        this.orderStatistic = orderStatistic;
     }
 
     /**
@@ -64,6 +78,8 @@ public class BinarySearchTree<E> extends AbstractBinaryTree<E> {
             parent.left = newNode;
         }
         size++;
+        // 新节点的所有祖先节点的子树都多了一个节点
+        if (orderStatistic) addSubtreeSize(parent, 1);
 
         afterAdd(newNode);
     }
@@ -112,6 +128,9 @@ public class BinarySearchTree<E> extends AbstractBinaryTree<E> {
             node = successor;
         }
 
+        // 真正被删除的节点的所有祖先节点的子树都少了一个节点
+        if (orderStatistic) addSubtreeSize(node.parent, -1);
+
         // 节点的度为1或0
         Node<E> replacement = node.left != null ? node.left : node.right;
         if (replacement != null) {
@@ -159,6 +178,243 @@ public class BinarySearchTree<E> extends AbstractBinaryTree<E> {
         return node(e) != null;
     }
 
+    /**
+     * 获取从小到大排在第k位的元素，需要开启顺序统计
+     * @param k 排位，从0开始
+     * @return 排在第k位的元素
+     */
+    public E select(int k) {
+        checkOrderStatistic();
+        if (k < 0 || k >= size) throw new IndexOutOfBoundsException("排位越界，排位：" + k + "，数量：" + size);
+
+        Node<E> node = root;
+        while (true) {
+            int leftSize = subtreeSize(node.left);
+            if (k < leftSize) {
+                node = node.left;
+            } else if (k > leftSize) {
+                // 跳过左子树和当前节点
+                k -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.element;
+            }
+        }
+    }
+
+    /**
+     * 获取比指定元素小的元素数量，即指定元素从小到大的排位，需要开启顺序统计
+     * @param e 指定的元素，不要求存在于树中
+     * @return 比指定元素小的元素数量
+     */
+    public int rank(E e) {
+        checkElementNotNull(e);
+        checkOrderStatistic();
+
+        int rank = 0;
+        Node<E> node = root;
+        while (node != null) {
+            int cmp = compare(e, node.element);
+            if (cmp > 0) {
+                // 左子树和当前节点都比指定元素小
+                rank += subtreeSize(node.left) + 1;
+                node = node.right;
+            } else if (cmp < 0) {
+                node = node.left;
+            } else {
+                return rank + subtreeSize(node.left);
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * 根据左右子树重新计算节点的子树节点数量，旋转后需要调用
+     * @param node 要更新的节点
+     */
+    protected void updateSubtreeSize(Node<E> node) {
+        node.subtreeSize = subtreeSize(node.left) + subtreeSize(node.right) + 1;
+    }
+
+    /**
+     * 获取子树的节点数量
+     * @param node 子树的根节点
+     * @return 节点数量，空子树为0
+     */
+    protected int subtreeSize(Node<E> node) {
+        return node == null ? 0 : node.subtreeSize;
+    }
+
+    /**
+     * 从指定节点开始，将其自身及所有祖先节点的子树节点数量加上增量
+     * @param node 开始更新的节点
+     * @param delta 增量
+     */
+    private void addSubtreeSize(Node<E> node, int delta) {
+        for (; node != null; node = node.parent) {
+            node.subtreeSize += delta;
+        }
+    }
+
+    /**
+     * 检查是否开启了顺序统计
+     */
+    private void checkOrderStatistic() {
+        if (!orderStatistic) throw new UnsupportedOperationException("未开启顺序统计！");
+    }
+
+    /**
+     * 获取最小的元素
+     * @return 最小的元素，树为空时返回null
+     */
+    public E first() {
+        return elementOf(firstNode());
+    }
+
+    /**
+     * 获取最大的元素
+     * @return 最大的元素，树为空时返回null
+     */
+    public E last() {
+        Node<E> node = root;
+        if (node == null) return null;
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node.element;
+    }
+
+    /**
+     * 获取小于等于指定元素的最大元素
+     * @param e 指定的元素
+     * @return 小于等于指定元素的最大元素，不存在时返回null
+     */
+    public E floor(E e) {
+        checkElementNotNull(e);
+        return elementOf(nearest(e, true, true));
+    }
+
+    /**
+     * 获取大于等于指定元素的最小元素
+     * @param e 指定的元素
+     * @return 大于等于指定元素的最小元素，不存在时返回null
+     */
+    public E ceiling(E e) {
+        checkElementNotNull(e);
+        return elementOf(nearest(e, false, true));
+    }
+
+    /**
+     * 获取小于指定元素的最大元素
+     * @param e 指定的元素
+     * @return 小于指定元素的最大元素，不存在时返回null
+     */
+    public E lower(E e) {
+        checkElementNotNull(e);
+        return elementOf(nearest(e, true, false));
+    }
+
+    /**
+     * 获取大于指定元素的最小元素
+     * @param e 指定的元素
+     * @return 大于指定元素的最小元素，不存在时返回null
+     */
+    public E higher(E e) {
+        checkElementNotNull(e);
+        return elementOf(nearest(e, false, false));
+    }
+
+    /**
+     * 获取在[from, to)区间内的元素的迭代器（从小到大）
+     * <br/>创建时只查找一次起始节点，之后沿着后继节点移动，遍历k个元素的开销为O(log n + k)
+     * <br/>迭代期间不能修改树
+     * @param from 起始元素（包含），为null表示从最小的元素开始
+     * @param to 结束元素（不包含），为null表示到最大的元素结束
+     * @return 元素迭代器
+     */
+    public Iterator<E> subSet(@Nullable E from, @Nullable E to) {
+        if (from != null && to != null && compare(from, to) > 0) {
+            throw new IllegalArgumentException("起始元素不能大于结束元素！");
+        }
+
+        return new RangeIterator(from == null ? firstNode() : nearest(from, false, true), to);
+    }
+
+    /**
+     * 区间迭代器
+     */
+    private class RangeIterator implements Iterator<E> {
+        /**
+         * 下一个要返回的节点
+         */
+        private Node<E> next;
+        /**
+         * 结束元素（不包含）
+         */
+        private final E to;
+
+        private RangeIterator(Node<E> first, E to) {
+            this.next = first;
+            this.to = to;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null && (to == null || compare(next.element, to) < 0);
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) throw new NoSuchElementException();
+
+            Node<E> node = next;
+            next = successor(node);
+            return node.element;
+        }
+    }
+
+    /**
+     * 查找与指定元素最接近的节点，只需从根节点向下查找一次
+     * @param e 指定的元素
+     * @param lower 为true时查找比指定元素小的节点，反之查找比指定元素大的节点
+     * @param inclusive 是否包含与指定元素相等的节点
+     * @return 最接近的节点，不存在时返回null
+     */
+    private Node<E> nearest(E e, boolean lower, boolean inclusive) {
+        Node<E> node = root;
+        Node<E> result = null;
+        while (node != null) {
+            int cmp = compare(e, node.element);
+            if (cmp == 0 && inclusive) return node;
+
+            if (lower ? cmp > 0 : cmp < 0) {
+                // 当前节点满足条件，继续向更接近指定元素的方向查找
+                result = node;
+                node = lower ? node.right : node.left;
+            } else {
+                node = lower ? node.left : node.right;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 获取最小的节点
+     * @return 最小的节点
+     */
+    private Node<E> firstNode() {
+        Node<E> node = root;
+        if (node == null) return null;
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node;
+    }
+
+    private E elementOf(Node<E> node) {
+        return node == null ? null : node.element;
+    }
+
     /**
      * 根据元素查找对应的节点
      * @param e 要查找的元素
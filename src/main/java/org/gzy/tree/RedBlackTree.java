@@ -17,6 +17,10 @@ public class RedBlackTree<E> extends BalanceBinarySearchTree<E> {
         super(comparator);
     }
 
+    public RedBlackTree(Comparator<E> comparator, boolean orderStatistic) {
+        super(comparator, orderStatistic);
+    }
+
     /**
      * 元素节点
      * @param <E> 元素类型
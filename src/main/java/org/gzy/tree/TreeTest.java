@@ -1,5 +1,6 @@
 package org.gzy.tree;
 
+import org.gzy.map.LightTreeMap;
 import org.gzy.tree.printer.BinaryTrees;
 
 import java.time.Duration;
@@ -12,7 +13,154 @@ import java.util.*;
  */
 public class TreeTest {
     public static void main(String[] args) {
+        bulkBuild();
+        navigable(new AVLTree<>());
+        navigable(new RedBlackTree<>());
+        mapNavigable();
+        orderStatistic(new AVLTree<>(null, true));
+        orderStatistic(new RedBlackTree<>(null, true));
+        traversal(new AVLTree<>());
+        traversal(new RedBlackTree<>());
+        System.out.println("树的测试全部通过");
+
         TreeMap<Integer, Integer> treeMap = new TreeMap<>();
         treeMap.put(null, 1);
     }
+
+    /**
+     * fromSorted直接构建平衡的树，putAll把升序的新元素和已有元素归并后重新构建
+     */
+    private static void bulkBuild() {
+        LightTreeMap<Integer, String> map = sortedMap();
+        TreeMap<Integer, String> reference = new TreeMap<>();
+        for (int i = 0; i < 1000; i++) {
+            reference.put(i * 3, "v" + i * 3);
+        }
+        check(map.size() == reference.size(), "fromSorted数量不一致");
+
+        // 一部分键和已有的键重复，重复的键使用新的值
+        Integer[] moreKeys = new Integer[1500];
+        String[] moreValues = new String[1500];
+        for (int i = 0; i < moreKeys.length; i++) {
+            moreKeys[i] = i * 2;
+            moreValues[i] = "w" + i * 2;
+            reference.put(moreKeys[i], moreValues[i]);
+        }
+        map.putAll(moreKeys, moreValues);
+        check(map.size() == reference.size(), "putAll数量不一致");
+        reference.forEach((k, v) -> check(v.equals(map.get(k)), "get(" + k + ")"));
+        System.out.println("LightTreeMap：批量构建" + map.size() + "个映射，与TreeMap一致");
+    }
+
+    /**
+     * 键为0, 3, 6, ..., 2997的映射
+     */
+    private static LightTreeMap<Integer, String> sortedMap() {
+        Integer[] keys = new Integer[1000];
+        String[] values = new String[1000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i * 3;
+            values[i] = "v" + i * 3;
+        }
+        return LightTreeMap.fromSorted(keys, values, null);
+    }
+
+    /**
+     * 随机删除后的导航查询和范围遍历
+     */
+    private static void navigable(BinarySearchTree<Integer> tree) {
+        TreeSet<Integer> reference = fill(tree);
+        for (int e = -1; e <= 2000; e++) {
+            check(Objects.equals(tree.floor(e), reference.floor(e)), "floor(" + e + ")");
+            check(Objects.equals(tree.ceiling(e), reference.ceiling(e)), "ceiling(" + e + ")");
+            check(Objects.equals(tree.lower(e), reference.lower(e)), "lower(" + e + ")");
+            check(Objects.equals(tree.higher(e), reference.higher(e)), "higher(" + e + ")");
+        }
+        check(tree.first().equals(reference.first()) && tree.last().equals(reference.last()), "first/last");
+
+        List<Integer> range = new ArrayList<>();
+        tree.subSet(500, 1500).forEachRemaining(range::add);
+        check(range.equals(new ArrayList<>(reference.subSet(500, 1500))), "subSet");
+        System.out.println(tree.getClass().getSimpleName() + "：导航查询与TreeSet一致");
+    }
+
+    private static void mapNavigable() {
+        LightTreeMap<Integer, String> map = sortedMap();
+        TreeMap<Integer, String> reference = new TreeMap<>();
+        for (int i = 0; i < 1000; i++) {
+            reference.put(i * 3, "v" + i * 3);
+        }
+        for (int k = -1; k <= 3000; k++) {
+            check(Objects.equals(map.floorKey(k), reference.floorKey(k)), "floorKey(" + k + ")");
+            check(Objects.equals(map.ceilingKey(k), reference.ceilingKey(k)), "ceilingKey(" + k + ")");
+            check(Objects.equals(map.lowerKey(k), reference.lowerKey(k)), "lowerKey(" + k + ")");
+            check(Objects.equals(map.higherKey(k), reference.higherKey(k)), "higherKey(" + k + ")");
+        }
+        List<Integer> range = new ArrayList<>();
+        map.subMap(100, 200).forEachRemaining(node -> range.add(node.getKey()));
+        check(range.equals(new ArrayList<>(reference.subMap(100, 200).keySet())), "subMap");
+        System.out.println("LightTreeMap：导航查询与TreeMap一致");
+    }
+
+    /**
+     * 顺序插入会不断触发旋转，随机删除后检查每个元素的select和rank
+     */
+    private static void orderStatistic(BinarySearchTree<Integer> tree) {
+        TreeSet<Integer> reference = fill(tree);
+        List<Integer> sorted = new ArrayList<>(reference);
+        for (int k = 0; k < sorted.size(); k++) {
+            check(tree.select(k).equals(sorted.get(k)), "select(" + k + ")");
+        }
+        for (int e = -1; e <= 2000; e++) {
+            check(tree.rank(e) == reference.headSet(e).size(), "rank(" + e + ")");
+        }
+        System.out.println(tree.getClass().getSimpleName() + "：高度" + tree.height() + "，第100小的元素" + tree.select(100));
+    }
+
+    /**
+     * 迭代器和遍历方法都不使用递归，结果要与中序、前序、后序的定义一致
+     */
+    private static void traversal(BinarySearchTree<Integer> tree) {
+        List<Integer> sorted = new ArrayList<>(fill(tree));
+        List<Integer> inorder = new ArrayList<>();
+        tree.inorderTraversal(inorder::add);
+        List<Integer> inorderIterated = new ArrayList<>();
+        tree.forEach(inorderIterated::add);
+        check(inorder.equals(sorted) && inorderIterated.equals(sorted), "中序遍历");
+        List<Integer> preorder = new ArrayList<>();
+        tree.preorderTraversal(preorder::add);
+        List<Integer> preorderIterated = new ArrayList<>();
+        tree.preorderIterator().forEachRemaining(preorderIterated::add);
+        check(preorder.equals(preorderIterated), "前序遍历");
+        List<Integer> postorder = new ArrayList<>();
+        tree.postorderTraversal(postorder::add);
+        List<Integer> postorderIterated = new ArrayList<>();
+        tree.postorderIterator().forEachRemaining(postorderIterated::add);
+        // 前序遍历的第一个和后序遍历的最后一个都是根节点
+        check(postorder.equals(postorderIterated) && postorder.get(postorder.size() - 1).equals(preorder.get(0)), "后序遍历");
+        System.out.println(tree.getClass().getSimpleName() + "：非递归遍历" + sorted.size() + "个元素");
+    }
+
+    /**
+     * 顺序添加0到1998的偶数，再随机删除一部分，返回相同操作后的TreeSet
+     */
+    private static TreeSet<Integer> fill(BinarySearchTree<Integer> tree) {
+        TreeSet<Integer> reference = new TreeSet<>();
+        for (int i = 0; i < 1000; i++) {
+            tree.add(i * 2);
+            reference.add(i * 2);
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 400; i++) {
+            Integer e = random.nextInt(2000);
+            tree.remove(e);
+            reference.remove(e);
+        }
+        check(tree.size() == reference.size(), "数量不一致");
+        return reference;
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) throw new IllegalStateException("测试失败：" + message);
+    }
 }